@@ -0,0 +1,46 @@
+package com.virtuehire;
+
+import com.virtuehire.service.AssessmentResultService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the running assessment aggregates on candidate rows (total score, levels
+ * attempted, highest level passed) from assessment_results for candidates whose
+ * results predate those columns, and awards the badge they qualify for. Only rows
+ * with no aggregates yet are touched, so later starts change nothing. Runs once the
+ * schema update is done, before any result is recorded.
+ */
+@Component
+public class AssessmentAggregatesBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(AssessmentAggregatesBackfill.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depending on the EntityManagerFactory makes Hibernate add the columns first
+    public AssessmentAggregatesBackfill(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        int updated = jdbcTemplate.update("UPDATE candidate c JOIN ("
+                        + "SELECT candidate_id, SUM(score) AS total, COUNT(*) AS attempted, "
+                        + "MAX(CASE WHEN score >= ? THEN level ELSE 0 END) AS highest_passed "
+                        + "FROM assessment_results GROUP BY candidate_id) r ON r.candidate_id = c.id "
+                        + "SET c.assessment_total_score = r.total, c.levels_attempted = r.attempted, "
+                        + "c.highest_level_passed = r.highest_passed, "
+                        + "c.badge = CASE WHEN r.highest_passed >= ? THEN ? ELSE c.badge END "
+                        + "WHERE c.levels_attempted IS NULL",
+                AssessmentResultService.PASS_MARKS, AssessmentResultService.BADGE_LEVEL,
+                AssessmentResultService.EXPERT_BADGE);
+        if (updated > 0) {
+            log.info("Assessment aggregates backfilled for {} candidates", updated);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.virtuehire;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the pooled id generators in id_sequences past the ids already in their
+ * tables, which were handed out by AUTO_INCREMENT before the switch. A pooled
+ * block ends at the stored value, so it is seeded at max(id) + block size.
+ * Never lowers a value. Runs once the schema update is done, before any insert.
+ */
+@Component
+public class IdSequenceSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceSeeder.class);
+
+    // Generator row -> table it numbers; block size matches the entities' allocationSize
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "questions", "questions",
+            "candidate", "candidate");
+    private static final int ALLOCATION_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depending on the EntityManagerFactory makes Hibernate create id_sequences first
+    public IdSequenceSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seed() {
+        SEQUENCES.forEach((sequence, table) -> {
+            jdbcTemplate.update("INSERT INTO id_sequences (seq_name, next_val) "
+                    + "SELECT ?, COALESCE(MAX(id), 0) + ? FROM " + table + " "
+                    + "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+                    sequence, ALLOCATION_SIZE);
+            log.debug("Id sequence {} seeded from {}", sequence, table);
+        });
+    }
+}
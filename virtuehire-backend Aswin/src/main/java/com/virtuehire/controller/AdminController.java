@@ -1,22 +1,36 @@
 package com.virtuehire.controller;
 
+import com.virtuehire.dto.BulkActionRequest;
+import com.virtuehire.dto.CandidateAdminRow;
+import com.virtuehire.dto.CandidatePage;
+import com.virtuehire.dto.CandidateSearchCriteria;
+import com.virtuehire.dto.PendingCandidateRow;
 import com.virtuehire.model.*;
 import com.virtuehire.service.*;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Controller
 @RequestMapping("/admin")
@@ -27,55 +41,69 @@ public class AdminController {
     private final CandidateService candidateService;
     private final QuestionService questionService;
     private final AssessmentResultService assessmentResultService;
+    private final PlatformStatsService platformStatsService;
+    private final RevenueRollupService revenueRollupService;
+    private final BulkAdminService bulkAdminService;
+    private final ExportService exportService;
+    private final ImportService importService;
+
+    // Rows shown in each list on the dashboard; the full lists have their own pages
+    private static final int DASHBOARD_ROW_LIMIT = 10;
+
+    // Sortable columns of the admin lists: request value -> entity property
+    private static final Map<String, String> HR_SORT_FIELDS = Map.of(
+            "id", "id", "name", "fullName", "company", "companyName");
+    private static final Map<String, String> PENDING_SORT_FIELDS = Map.of(
+            "id", "id", "name", "fullName", "graduation", "yearOfGraduation");
+    private static final Map<String, String> PAYMENT_SORT_FIELDS = Map.of(
+            "date", "createdAt", "completed", "completedAt", "amount", "amount");
 
     public AdminController(HrService hrService, PaymentService paymentService,
                            CandidateService candidateService, QuestionService questionService,
-                           AssessmentResultService assessmentResultService) {
+                           AssessmentResultService assessmentResultService,
+                           PlatformStatsService platformStatsService,
+                           RevenueRollupService revenueRollupService,
+                           BulkAdminService bulkAdminService,
+                           ExportService exportService,
+                           ImportService importService) {
         this.hrService = hrService;
         this.paymentService = paymentService;
         this.candidateService = candidateService;
         this.questionService = questionService;
         this.assessmentResultService = assessmentResultService;
+        this.platformStatsService = platformStatsService;
+        this.revenueRollupService = revenueRollupService;
+        this.bulkAdminService = bulkAdminService;
+        this.exportService = exportService;
+        this.importService = importService;
     }
 
     // Enhanced Admin dashboard
     @GetMapping("/dashboard")
     public String adminDashboard(Model model) {
-        List<Hr> allHrs = hrService.findAll();
-        List<Candidate> allCandidates = candidateService.findAll();
-        List<Payment> allPayments = paymentService.getAllPayments();
+        // Materialized totals, kept current by entity listeners
+        Map<String, PlatformStat> stats = platformStatsService.getStats();
 
         // HR Statistics
-        long totalHrs = allHrs.size();
-        long verifiedHrs = allHrs.stream().filter(Hr::getVerified).count();
-        long unverifiedHrs = totalHrs - verifiedHrs;
+        long verifiedHrs = PlatformStatsService.count(stats, PlatformStat.HRS_VERIFIED);
+        long unverifiedHrs = PlatformStatsService.count(stats, PlatformStat.HRS_UNVERIFIED);
+        long totalHrs = verifiedHrs + unverifiedHrs;
 
         // Candidate Statistics
-        long totalCandidates = allCandidates.size();
-        long candidatesWithTest = allCandidates.stream()
-                .filter(c -> c.getAssessmentTaken() != null && c.getAssessmentTaken())
-                .count();
-
-        // NEW: Pending candidate verifications
-        long pendingCandidates = candidateService.findByApprovedFalse().size();
+        long pendingCandidates = PlatformStatsService.count(stats, PlatformStat.CANDIDATES_PENDING);
+        long totalCandidates = PlatformStatsService.count(stats, PlatformStat.CANDIDATES_APPROVED) + pendingCandidates;
+        long candidatesWithTest = PlatformStatsService.count(stats, PlatformStat.CANDIDATES_ASSESSED);
 
         // Payment Statistics
         Map<String, Object> paymentStats = paymentService.getPaymentStatistics();
+        double totalRevenue = (double) paymentStats.get("totalRevenue");
 
-        // FIXED: Correct total revenue calculation
-        double totalRevenue = allPayments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.SUCCESS)
-                .mapToDouble(Payment::getAmount)
-                .sum();
-
-        // HRs who collected candidate details
-        List<Payment> successfulPayments = allPayments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.SUCCESS)
-                .toList();
+        // Latest rows only; counts above cover everything
+        List<CandidateAdminRow> recentCandidates = candidateService.findRecentAdminRows(DASHBOARD_ROW_LIMIT);
+        List<Payment> recentPayments = paymentService.getRecentSuccessfulPayments(DASHBOARD_ROW_LIMIT);
 
-        model.addAttribute("hrs", allHrs);
-        model.addAttribute("candidates", allCandidates);
-        model.addAttribute("payments", successfulPayments);
+        model.addAttribute("candidates", recentCandidates);
+        model.addAttribute("payments", recentPayments);
         model.addAttribute("totalHrs", totalHrs);
         model.addAttribute("verifiedHrs", verifiedHrs);
         model.addAttribute("unverifiedHrs", unverifiedHrs);
@@ -89,35 +117,43 @@ public class AdminController {
     }
 
 
-    // Show all HRs for verification
+    // Show HRs for verification, one page at a time
     @GetMapping("/hrs")
     public String showAllHrs(
             @RequestParam(required = false, defaultValue = "all") String filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + AdminPaging.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
             Model model) {
 
-        List<Hr> hrs;
-
-        if ("verified".equals(filter)) {
-            hrs = hrService.findAll().stream()
-                    .filter(Hr::getVerified)
-                    .toList();
-        } else if ("unverified".equals(filter)) {
-            hrs = hrService.findAll().stream()
-                    .filter(hr -> !hr.getVerified())
-                    .toList();
-        } else {
-            hrs = hrService.findAll();
-        }
+        Boolean verified = "verified".equals(filter) ? Boolean.TRUE
+                : "unverified".equals(filter) ? Boolean.FALSE : null;
+        Page<Hr> hrs = hrService.findPage(verified,
+                AdminPaging.of(page, size, sortBy, sortDirection, HR_SORT_FIELDS, "id"));
 
-        model.addAttribute("hrs", hrs);
+        model.addAttribute("hrs", hrs.getContent());
+        model.addAttribute("page", hrs);
         model.addAttribute("currentFilter", filter);
+        model.addAttribute("sortBy", sortBy);
+        model.addAttribute("sortDirection", sortDirection);
         return "hr-list";
     }
-    // Show unapproved candidates for verification
+
+    // Show unapproved candidates for verification, one page at a time
     @GetMapping("/candidates/pending")
-    public String showPendingCandidates(Model model) {
-        List<Candidate> pendingCandidates = candidateService.findByApprovedFalse();
-        model.addAttribute("candidates", pendingCandidates);
+    public String showPendingCandidates(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + AdminPaging.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            Model model) {
+        Page<PendingCandidateRow> pendingCandidates = candidateService.findPendingRows(
+                AdminPaging.of(page, size, sortBy, sortDirection, PENDING_SORT_FIELDS, "id"));
+        model.addAttribute("candidates", pendingCandidates.getContent());
+        model.addAttribute("page", pendingCandidates);
+        model.addAttribute("sortBy", sortBy);
+        model.addAttribute("sortDirection", sortDirection);
         return "admin-pending-candidates";
     }
 
@@ -187,6 +223,48 @@ public class AdminController {
         return "redirect:/admin/hrs";
     }
 
+    // Bulk actions on ids or a filter; each returns a job to poll at /admin/bulk/jobs/{jobId}
+    @PostMapping("/bulk/candidates/approve")
+    @ResponseBody
+    public ResponseEntity<?> bulkApproveCandidates(@RequestBody BulkActionRequest request) {
+        return startBulkJob(() -> bulkAdminService.approveCandidates(request));
+    }
+
+    @PostMapping("/bulk/candidates/reject")
+    @ResponseBody
+    public ResponseEntity<?> bulkRejectCandidates(@RequestBody BulkActionRequest request) {
+        return startBulkJob(() -> bulkAdminService.rejectCandidates(request));
+    }
+
+    @PostMapping("/bulk/hrs/verify")
+    @ResponseBody
+    public ResponseEntity<?> bulkVerifyHrs(@RequestBody BulkActionRequest request) {
+        return startBulkJob(() -> bulkAdminService.setHrsVerified(request, true));
+    }
+
+    @PostMapping("/bulk/hrs/unverify")
+    @ResponseBody
+    public ResponseEntity<?> bulkUnverifyHrs(@RequestBody BulkActionRequest request) {
+        return startBulkJob(() -> bulkAdminService.setHrsVerified(request, false));
+    }
+
+    // Progress and per-id outcomes of a bulk job
+    @GetMapping("/bulk/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<BulkJob> bulkJobStatus(@PathVariable String jobId) {
+        return bulkAdminService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<?> startBulkJob(Supplier<BulkJob> start) {
+        try {
+            return ResponseEntity.accepted().body(start.get());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Question Management
     // Question Management with subject filter
     @GetMapping("/questions")
@@ -280,11 +358,33 @@ public class AdminController {
         return "redirect:/admin/dashboard";
     }
 
-    // Show all candidates for admin
+    // Show all candidates for admin, filtered on the candidate index one page at a time
     @GetMapping("/candidates")
-    public String showAllCandidates(Model model) {
-        List<Candidate> candidates = candidateService.findAll();
-        model.addAttribute("candidates", candidates);
+    public String showAllCandidates(
+            @RequestParam(required = false) String skills,
+            @RequestParam(required = false) String experienceLevel,
+            @RequestParam(required = false, defaultValue = "all") String status,
+            @RequestParam(required = false, defaultValue = "score") String sortBy,
+            @RequestParam(required = false, defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CandidateService.DEFAULT_PAGE_SIZE) int size,
+            Model model) {
+
+        Boolean approved = "approved".equals(status) ? Boolean.TRUE
+                : "pending".equals(status) ? Boolean.FALSE : null;
+        CandidateSearchCriteria criteria = new CandidateSearchCriteria(skills, experienceLevel, null, approved);
+        CandidatePage<CandidateAdminRow> page = candidateService.searchCandidates(criteria, sortBy, sortDirection,
+                cursor, size, CandidateAdminRow.class);
+
+        model.addAttribute("candidates", page.candidates());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("totalMatches", page.totalMatches());
+        model.addAttribute("searchSkills", skills);
+        model.addAttribute("experienceLevel", experienceLevel);
+        model.addAttribute("status", status);
+        model.addAttribute("sortBy", sortBy);
+        model.addAttribute("sortDirection", sortDirection);
+        model.addAttribute("pageSize", size);
         return "admin-candidates-list";
     }
 
@@ -333,29 +433,116 @@ public class AdminController {
         }
     }
 
+    // Candidate statistics with the estimated distinct skill count, as JSON
+    @GetMapping("/stats/candidates")
+    @ResponseBody
+    public Map<String, Object> candidateStats() {
+        return candidateService.getDashboardStats();
+    }
+
+    // Exact distinct skill recount, which also rebuilds the estimate's sketch
+    @PostMapping("/stats/unique-skills/recount")
+    @ResponseBody
+    public Map<String, Object> recountUniqueSkills() {
+        return candidateService.recountUniqueSkills();
+    }
+
+    // Search cache counters, as JSON
+    @GetMapping("/cache/search-stats")
+    @ResponseBody
+    public Map<String, Object> searchCacheStats() {
+        return candidateService.getSearchCacheStats();
+    }
+
     //show all payments
     @GetMapping("/payments")
-    public String showAllPayments(Model model) {
-        List<Payment> allPayments = paymentService.getAllPayments();
-
-        // Calculate statistics
-        double totalRevenue = allPayments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.SUCCESS)
-                .mapToDouble(Payment::getAmount)
-                .sum();
+    public String showAllPayments(
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + AdminPaging.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "date") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            Model model) {
+        Page<Payment> payments = paymentService.getPaymentsPage(status,
+                AdminPaging.of(page, size, sortBy, sortDirection, PAYMENT_SORT_FIELDS, "date"));
 
-        long successfulPayments = allPayments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.SUCCESS)
-                .count();
+        // Statistics from the materialized totals rather than the list
+        Map<String, Object> paymentStats = paymentService.getPaymentStatistics();
 
-        model.addAttribute("payments", allPayments);
-        model.addAttribute("totalRevenue", totalRevenue);
-        model.addAttribute("successfulPayments", successfulPayments);
-        model.addAttribute("totalPayments", allPayments.size());
+        model.addAttribute("payments", payments.getContent());
+        model.addAttribute("page", payments);
+        model.addAttribute("status", status);
+        model.addAttribute("sortBy", sortBy);
+        model.addAttribute("sortDirection", sortDirection);
+        model.addAttribute("totalRevenue", paymentStats.get("totalRevenue"));
+        model.addAttribute("successfulPayments", paymentStats.get("successfulPayments"));
+        model.addAttribute("totalPayments", paymentStats.get("totalPayments"));
 
         return "admin-payments-list";
     }
 
+    // Revenue and payment counts over a date range from the rollups, as JSON
+    @GetMapping("/revenue")
+    @ResponseBody
+    public ResponseEntity<?> revenueReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(required = false) String planType,
+            @RequestParam(required = false) String currency) {
+        try {
+            RevenueRollup.Granularity period = RevenueRollup.Granularity.valueOf(granularity.toUpperCase());
+            return ResponseEntity.ok(revenueRollupService.report(from, to, period, planType, currency));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Rebuild the revenue rollups from the payments table
+    @PostMapping("/revenue/backfill")
+    @ResponseBody
+    public Map<String, Object> backfillRevenue() {
+        return revenueRollupService.backfill();
+    }
+
+    // CSV export of candidates, hrs, payments or assessment-results, streamed in chunks
+    @GetMapping("/export/{type}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String type,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.ExportType exportType;
+        try {
+            exportType = ExportService.ExportType.fromPath(type);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String fileName = exportType.getPath() + "-" + LocalDate.now() + (gzip ? ".csv.gz" : ".csv");
+        StreamingResponseBody body = out -> exportService.writeCsv(exportType, out, gzip);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .body(body);
+    }
+
+    // Bulk import of questions or pre-registered candidates from a CSV or JSON upload
+    @PostMapping("/import/{type}")
+    @ResponseBody
+    public ResponseEntity<?> importRows(@PathVariable String type,
+                                        @RequestParam("file") MultipartFile file,
+                                        @RequestParam(required = false) String format) {
+        try (InputStream in = file.getInputStream()) {
+            ImportService.Format importFormat = ImportService.Format.of(format, file.getOriginalFilename());
+            return switch (type) {
+                case "questions" -> ResponseEntity.ok(importService.importQuestions(in, importFormat));
+                case "candidates" -> ResponseEntity.ok(importService.importCandidates(in, importFormat));
+                default -> ResponseEntity.notFound().build();
+            };
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Could not read the upload: " + e.getMessage()));
+        }
+    }
+
     // View payment details
     @GetMapping("/payments/{id}")
     public String viewPaymentDetails(@PathVariable Long id, Model model) {
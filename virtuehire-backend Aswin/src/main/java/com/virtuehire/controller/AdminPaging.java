@@ -0,0 +1,36 @@
+package com.virtuehire.controller;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+/**
+ * Page requests for the admin lists: page size clamped, and only whitelisted sort
+ * fields accepted, with id as the tie breaker so pages never overlap. Every sort
+ * field has an index on it, and on the list's filter column then it (see the
+ * entities' @Table indexes), so a page is read in order rather than sorted.
+ */
+final class AdminPaging {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private AdminPaging() {}
+
+    /**
+     * @param sortFields request value -> entity property, e.g. "name" -> "fullName"
+     */
+    static PageRequest of(int page, int size, String sortBy, String sortDirection,
+                          Map<String, String> sortFields, String defaultSort) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String property = sortFields.getOrDefault(sortBy, sortFields.get(defaultSort));
+        Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC : Sort.Direction.DESC;
+
+        Sort sort = Sort.by(direction, property);
+        if (!"id".equals(property)) {
+            sort = sort.and(Sort.by(direction, "id"));
+        }
+        return PageRequest.of(Math.max(0, page), pageSize, sort);
+    }
+}
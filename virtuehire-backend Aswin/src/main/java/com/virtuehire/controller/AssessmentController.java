@@ -1,16 +1,18 @@
 package com.virtuehire.controller;
 
+import com.virtuehire.dto.AssessmentProgress;
+import com.virtuehire.dto.BankQuestion;
 import com.virtuehire.model.Candidate;
-import com.virtuehire.model.Question;
-import com.virtuehire.service.AssessmentResultService;
-import com.virtuehire.service.CandidateService; // ADD THIS IMPORT
+import com.virtuehire.service.ExamSessionService;
 import com.virtuehire.service.QuestionService;
+import com.virtuehire.service.SubmissionPipeline;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,17 +21,17 @@ import java.util.Map;
 public class AssessmentController {
 
     private final QuestionService questionService;
-    private final AssessmentResultService resultService;
-    private final CandidateService candidateService; // ADD THIS
+    private final SubmissionPipeline submissionPipeline;
+    private final ExamSessionService examSessionService;
 
     private static final int MAX_LEVELS = 5; // adjust to your total levels
 
     public AssessmentController(QuestionService questionService,
-                                AssessmentResultService resultService,
-                                CandidateService candidateService) { // ADD candidateService parameter
+                                SubmissionPipeline submissionPipeline,
+                                ExamSessionService examSessionService) {
         this.questionService = questionService;
-        this.resultService = resultService;
-        this.candidateService = candidateService; // INITIALIZE IT
+        this.submissionPipeline = submissionPipeline;
+        this.examSessionService = examSessionService;
     }
 
     // Assessment home page
@@ -38,28 +40,15 @@ public class AssessmentController {
         Candidate candidate = (Candidate) session.getAttribute("candidate");
         if (candidate == null) return "redirect:/candidates/login"; // FIXED: redirect to candidate login
 
-        // Load all results from DB
-        Map<Integer, Boolean> levelResults = resultService.getLevelResults(candidate);
-        session.setAttribute("levelResults", levelResults);
-
-        // Add to model for Thymeleaf
+        // Results from the progress snapshot, including submissions still waiting to be written
+        Map<Integer, Boolean> levelResults = submissionPipeline.progress(candidate).levelResults();
         model.addAttribute("levelResults", levelResults);
 
-        // Calculate next available level
-        int nextLevel = 1;
-        for (int lvl = 1; lvl <= MAX_LEVELS; lvl++) {
-            Boolean passed = levelResults.get(lvl);
-            if (passed == null || !passed) {
-                nextLevel = lvl;
-                if (passed != null && !passed) {
-                    model.addAttribute("error", "You failed Level " + lvl + ". Cannot continue.");
-                }
-                break;
-            }
-            nextLevel = lvl + 1;
+        int nextLevel = nextLevel(levelResults);
+        Boolean passed = levelResults.get(nextLevel);
+        if (passed != null && !passed) {
+            model.addAttribute("error", "You failed Level " + nextLevel + ". Cannot continue.");
         }
-
-        session.setAttribute("currentLevel", nextLevel);
         model.addAttribute("currentLevel", nextLevel);
 
         return "assessment-home";
@@ -71,17 +60,19 @@ public class AssessmentController {
         Candidate candidate = (Candidate) session.getAttribute("candidate");
         if (candidate == null) return "redirect:/candidates/login"; // FIXED: redirect to candidate login
 
-        Integer currentLevel = (Integer) session.getAttribute("currentLevel");
-        if (currentLevel == null) currentLevel = 1;
+        // The current level follows from the results, so nothing about it is kept in the HTTP session
+        AssessmentProgress progress = submissionPipeline.progress(candidate);
+        int currentLevel = nextLevel(progress.levelResults());
+        if (currentLevel > MAX_LEVELS) return "assessment-complete";
 
         // Prevent retake
-        if (resultService.hasAttempted(candidate, currentLevel)) {
+        if (progress.hasAttempted(currentLevel)) {
             model.addAttribute("error", "You have already attempted Level " + currentLevel + ".");
             return "assessment-home";
         }
 
         // Ensure previous level is passed
-        if (currentLevel > 1 && !resultService.hasPassed(candidate, currentLevel - 1)) {
+        if (currentLevel > 1 && !progress.hasPassed(currentLevel - 1)) {
             model.addAttribute("error", "You must pass Level " + (currentLevel - 1) + " before attempting this level.");
             return "assessment-home";
         }
@@ -89,33 +80,59 @@ public class AssessmentController {
         return "redirect:/assessment/level/" + currentLevel;
     }
 
-    // Show questions for a level
+    // Show questions for a level, resuming the candidate's attempt if one was started
     @GetMapping("/level/{level}")
     public String getLevel(@PathVariable int level, HttpSession session, Model model) {
         Candidate candidate = (Candidate) session.getAttribute("candidate");
         if (candidate == null) return "redirect:/candidates/login"; // FIXED: redirect to candidate login
 
+        if (!isLevel(level)) {
+            model.addAttribute("error", "Level " + level + " does not exist.");
+            return "assessment-home";
+        }
+
         // Prevent retake
-        if (resultService.hasAttempted(candidate, level)) {
+        AssessmentProgress progress = submissionPipeline.progress(candidate);
+        if (progress.hasAttempted(level)) {
             model.addAttribute("error", "You have already attempted Level " + level + ".");
             return "assessment-home";
         }
 
         // Ensure previous level passed
-        if (level > 1 && !resultService.hasPassed(candidate, level - 1)) {
+        if (level > 1 && !progress.hasPassed(level - 1)) {
             model.addAttribute("error", "You must pass Level " + (level - 1) + " before accessing Level " + level + ".");
             return "assessment-home";
         }
 
-        List<Question> questions = questionService.getQuestionsByLevel(level);
+        List<BankQuestion> questions = questionService.getQuestionsByLevel(level);
         if (questions.isEmpty()) return "assessment-complete";
 
-        model.addAttribute("questions", questions);
-        model.addAttribute("level", level);
-        return "assessment-level";
+        ExamSessionService.Attempt attempt = examSessionService.start(candidate.getId(), level,
+                questions.stream().map(BankQuestion::getId).toList());
+        return showAttempt(attempt, model);
+    }
+
+    // Autosave from the exam page: answers chosen since the last save, as "q{id}" -> option
+    @PatchMapping("/attempts/{attemptId}/answers")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> autosave(@PathVariable String attemptId,
+                                                        @RequestBody Map<String, String> answers,
+                                                        HttpSession session) {
+        Candidate candidate = (Candidate) session.getAttribute("candidate");
+        if (candidate == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Not logged in"));
+        }
+        try {
+            int saved = examSessionService.autosave(attemptId, candidate.getId(), answers);
+            return ResponseEntity.ok(Map.of("saved", saved, "savedAt", System.currentTimeMillis()));
+        } catch (ExamSessionService.AttemptNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (ExamSessionService.AttemptClosedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
     }
 
-    // Submit answers for a level - UPDATED THIS METHOD
+    // Submit answers: graded in memory and acknowledged; the result is written behind
     @PostMapping("/submit/{level}")
     public String submitLevel(@PathVariable int level,
                               @RequestParam Map<String, String> answers,
@@ -125,37 +142,59 @@ public class AssessmentController {
         Candidate candidate = (Candidate) session.getAttribute("candidate");
         if (candidate == null) return "redirect:/candidates/login"; // FIXED: redirect to candidate login
 
-        // Prevent double submit
-        if (resultService.hasAttempted(candidate, level)) {
-            model.addAttribute("error", "You have already submitted Level " + level + ".");
+        if (!isLevel(level)) {
+            model.addAttribute("error", "Level " + level + " does not exist.");
             return "assessment-home";
         }
 
-        // Evaluate answers (score as percentage)
-        Map<String, Object> result = questionService.evaluateWithScore(level, answers);
-        int score = (Integer) result.get("score");
-        int total = (Integer) result.get("total");
-        boolean passed = (Boolean) result.get("passed");
-
-        // NEW: Set assessmentTaken to true and update candidate
-        candidate.setAssessmentTaken(true);
-        candidateService.save(candidate); // Save the updated candidate
+        // The attempt id doubles as the submission's idempotency token
+        String attemptId = answers.get("submissionToken");
+        ExamSessionService.Attempt attempt = findAttempt(attemptId, candidate);
+        if (attempt != null && attempt.level() != level) {
+            model.addAttribute("error", "This attempt is for Level " + attempt.level() + ", not Level " + level + ".");
+            return "assessment-home";
+        }
 
-        // Save result in DB
-        resultService.saveResult(candidate, level, score);
+        SubmissionPipeline.Ack ack;
+        try {
+            ack = submissionPipeline.submit(candidate, level, answers, attemptId,
+                    attempt == null ? null : attempt.questionIds());
+        } catch (SubmissionPipeline.AlreadySubmittedException e) {
+            model.addAttribute("error", "You have already submitted Level " + level + ".");
+            return "assessment-home";
+        } catch (SubmissionPipeline.BusyException e) {
+            // Backpressure: nothing was recorded; keep the answers in the attempt and show it again
+            if (attempt != null) {
+                try {
+                    examSessionService.autosave(attempt.attemptId(), candidate.getId(), answers);
+                    model.addAttribute("error", "Many candidates are submitting right now. Please submit again in a moment.");
+                    return showAttempt(examSessionService.get(attempt.attemptId(), candidate.getId()), model);
+                } catch (ExamSessionService.AttemptNotFoundException | ExamSessionService.AttemptClosedException e2) {
+                    // Not a resumable attempt; fall through to the home page
+                }
+            }
+            model.addAttribute("error", "Many candidates are submitting right now. Please try Level " + level + " again in a moment.");
+            return "assessment-home";
+        }
+        if (attempt != null) {
+            examSessionService.submitted(attempt.attemptId(), candidate.getId(), answers);
+        }
+        int score = ack.score();
+        boolean passed = ack.passed();
 
-        // Update session with the latest candidate data
+        // Keep the session copy in step with what the writer will store
+        candidate.setAssessmentTaken(true);
+        if (candidate.getScore() == null || score > candidate.getScore()) {
+            candidate.setScore(score);
+        }
         session.setAttribute("candidate", candidate);
 
-        // Update session results from DB
-        Map<Integer, Boolean> updatedResults = resultService.getLevelResults(candidate);
-        session.setAttribute("levelResults", updatedResults);
-        model.addAttribute("levelResults", updatedResults);
+        // The progress snapshot already includes this submission
+        model.addAttribute("levelResults", submissionPipeline.progress(candidate).levelResults());
 
         // Update current level
         int nextLevel = level + 1;
         if (!passed) nextLevel = level; // failed level remains current
-        session.setAttribute("currentLevel", nextLevel);
         model.addAttribute("currentLevel", nextLevel);
 
         if (!passed) {
@@ -163,10 +202,48 @@ public class AssessmentController {
         }
 
         model.addAttribute("score", score);
-        model.addAttribute("total", total);
+        model.addAttribute("total", ack.total());
         model.addAttribute("passed", passed);
         model.addAttribute("level", level);
+        model.addAttribute("submissionToken", ack.token());
 
         return "assessment-result";
     }
-}
\ No newline at end of file
+
+    private String showAttempt(ExamSessionService.Attempt attempt, Model model) {
+        model.addAttribute("questions", questionService.getQuestionsByIds(attempt.questionIds()));
+        model.addAttribute("level", attempt.level());
+        model.addAttribute("attemptId", attempt.attemptId());
+        model.addAttribute("savedAnswers", attempt.answerValues());
+        model.addAttribute("submissionToken", attempt.attemptId());
+        return "assessment-level";
+    }
+
+    // The candidate's attempt behind a submission; null for a page served before exam sessions
+    private ExamSessionService.Attempt findAttempt(String attemptId, Candidate candidate) {
+        if (attemptId == null) return null;
+        try {
+            return examSessionService.get(attemptId, candidate.getId());
+        } catch (ExamSessionService.AttemptNotFoundException e) {
+            return null;
+        }
+    }
+
+    // Levels outside 1..MAX_LEVELS have no questions or progress bit
+    private static boolean isLevel(int level) {
+        return level >= 1 && level <= MAX_LEVELS;
+    }
+
+    // First level not yet passed: the one to take next, or the failed one that ends the assessment
+    private static int nextLevel(Map<Integer, Boolean> levelResults) {
+        int nextLevel = 1;
+        for (int lvl = 1; lvl <= MAX_LEVELS; lvl++) {
+            Boolean passed = levelResults.get(lvl);
+            if (passed == null || !passed) {
+                return lvl;
+            }
+            nextLevel = lvl + 1;
+        }
+        return nextLevel;
+    }
+}
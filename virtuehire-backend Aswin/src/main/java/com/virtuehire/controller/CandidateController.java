@@ -1,9 +1,9 @@
 package com.virtuehire.controller;
 
-import com.virtuehire.model.AssessmentResult;
+import com.virtuehire.dto.AssessmentProgress;
 import com.virtuehire.model.Candidate;
-import com.virtuehire.service.AssessmentResultService;
 import com.virtuehire.service.CandidateService;
+import com.virtuehire.service.SubmissionPipeline;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
@@ -18,7 +18,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
 import java.util.Optional;
 
 @Controller
@@ -26,14 +25,14 @@ import java.util.Optional;
 public class CandidateController {
 
     private final CandidateService candidateService;
-    private final AssessmentResultService assessmentResultService;
+    private final SubmissionPipeline submissionPipeline;
 
     private final Path uploadDir = Paths.get("C:/Users/aswin/Desktop/VirtueHire-backend Aswin/uploads");
 
     public CandidateController(CandidateService candidateService,
-                               AssessmentResultService assessmentResultService) {
+                               SubmissionPipeline submissionPipeline) {
         this.candidateService = candidateService;
-        this.assessmentResultService = assessmentResultService;
+        this.submissionPipeline = submissionPipeline;
     }
 
     // Show registration form
@@ -153,31 +152,17 @@ public class CandidateController {
                 model.addAttribute("badge", candidate.getBadge());
                 model.addAttribute("profilePic", candidate.getProfilePic());
 
-                // Load assessment results
-                List<AssessmentResult> results = assessmentResultService.getCandidateResults(candidate.getId());
-                model.addAttribute("results", results);
+                // Load assessment results (cached snapshot, including submissions still being saved)
+                AssessmentProgress progress = submissionPipeline.progress(candidate);
+                model.addAttribute("results", progress.getResults());
 
                 // Level-wise marks
-                model.addAttribute("levelMarks", results.stream()
-                        .collect(java.util.stream.Collectors.toMap(AssessmentResult::getLevel, AssessmentResult::getScore)));
+                model.addAttribute("levelMarks", progress.levelMarks());
 
                 // Attempted levels
-                List<Integer> attemptedLevels = results.stream()
-                        .map(AssessmentResult::getLevel)
-                        .toList();
-                model.addAttribute("attemptedLevels", attemptedLevels);
-
-                // ✅ Assign badge if all 3 levels completed and passed
-                boolean allPassed = attemptedLevels.contains(1) && attemptedLevels.contains(2) && attemptedLevels.contains(3)
-                        && assessmentResultService.hasPassed(candidate, 1)
-                        && assessmentResultService.hasPassed(candidate, 2)
-                        && assessmentResultService.hasPassed(candidate, 3);
-
-                if (allPassed && (candidate.getBadge() == null || candidate.getBadge().isEmpty())) {
-                    candidate.setBadge("Java Expert");
-                    candidateService.save(candidate);
-                    model.addAttribute("badge", candidate.getBadge());
-                }
+                model.addAttribute("attemptedLevels", progress.attemptedLevels());
+
+                // The badge is assigned when results are recorded; login only displays it
 
                 return "candidate-welcome";
             } else {
@@ -1,5 +1,9 @@
 package com.virtuehire.controller;
 
+import com.virtuehire.dto.CandidatePage;
+import com.virtuehire.dto.CandidateSearchCriteria;
+import com.virtuehire.dto.CandidateSummary;
+import com.virtuehire.dto.CandidateTextPage;
 import com.virtuehire.model.Candidate;
 import com.virtuehire.model.Hr;
 import com.virtuehire.service.CandidateService;
@@ -141,8 +145,16 @@ public class HrController {
             return "redirect:/hrs/login";
         }
 
-        List<Candidate> candidates = candidateService.findAll();
-        model.addAttribute("candidates", candidates);
+        // First page of the default search, list columns only
+        CandidateSearchCriteria criteria = new CandidateSearchCriteria(null, null, null, null);
+        CandidatePage<CandidateSummary> page = candidateService.searchCandidates(criteria, "score", "DESC",
+                null, CandidateService.DEFAULT_PAGE_SIZE, CandidateSummary.class);
+
+        model.addAttribute("candidates", page.candidates());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("totalMatches", page.totalMatches());
+        model.addAttribute("facets", page.facets());
+        model.addAttribute("pageSize", CandidateService.DEFAULT_PAGE_SIZE);
         model.addAttribute("hr", hr);
         return "candidate-list";
     }
@@ -234,6 +246,10 @@ public class HrController {
             @RequestParam(required = false) String skills,
             @RequestParam(required = false) String experienceLevel,
             @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false, defaultValue = "score") String sortBy,
+            @RequestParam(required = false, defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CandidateService.DEFAULT_PAGE_SIZE) int size,
             HttpSession session,
             Model model) {
 
@@ -242,20 +258,51 @@ public class HrController {
             return "redirect:/hrs/login";
         }
 
-        // Get filtered candidates
-        List<Candidate> candidates = candidateService.searchCandidates(skills, experienceLevel, minScore);
+        // Get one page of filtered candidates
+        CandidateSearchCriteria criteria = new CandidateSearchCriteria(skills, experienceLevel, minScore, null);
+        CandidatePage<CandidateSummary> page = candidateService.searchCandidates(criteria, sortBy, sortDirection,
+                cursor, size, CandidateSummary.class);
 
-        model.addAttribute("candidates", candidates);
+        model.addAttribute("candidates", page.candidates());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("totalMatches", page.totalMatches());
+        model.addAttribute("facets", page.facets());
         model.addAttribute("hr", hr);
 
         // Preserve search params for form
         model.addAttribute("searchSkills", skills);
         model.addAttribute("experienceLevel", experienceLevel);
         model.addAttribute("minScore", minScore);
+        model.addAttribute("sortBy", sortBy);
+        model.addAttribute("sortDirection", sortDirection);
+        model.addAttribute("pageSize", size);
 
         return "candidate-list";
     }
 
+    // Full-text search over profiles and resumes, ranked by relevance
+    @GetMapping("/searchCandidates/text")
+    public String fullTextSearch(@RequestParam(required = false) String q,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "" + CandidateService.DEFAULT_PAGE_SIZE) int size,
+                                 HttpSession session,
+                                 Model model) {
+        Hr hr = (Hr) session.getAttribute("hr");
+        if (hr == null) {
+            return "redirect:/hrs/login";
+        }
+
+        try {
+            CandidateTextPage results = candidateService.fullTextSearch(q, page, size);
+            model.addAttribute("results", results);
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        model.addAttribute("q", q);
+        model.addAttribute("hr", hr);
+        return "candidate-text-search";
+    }
+
     // Logout
     @GetMapping("/logout")
     public String logout(HttpSession session) {
@@ -0,0 +1,114 @@
+package com.virtuehire.dto;
+
+import com.virtuehire.model.AssessmentResult;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Immutable snapshot of one candidate's assessment results: a bitmask of attempted
+ * levels and one of passed levels (bit n is level n), plus each level's score for
+ * display. Built from one query and answers every per-level question without
+ * going back to assessment_results.
+ */
+public final class AssessmentProgress {
+
+    public static final AssessmentProgress EMPTY = new AssessmentProgress(0, 0, List.of());
+
+    private final int attempted;
+    private final int passed;
+    private final List<LevelResult> results;
+
+    /**
+     * One stored level result, with the getters the candidate welcome page renders.
+     */
+    public static final class LevelResult {
+        private final int level;
+        private final int score;
+        private final LocalDateTime attemptedAt;
+
+        public LevelResult(int level, int score, LocalDateTime attemptedAt) {
+            this.level = level;
+            this.score = score;
+            this.attemptedAt = attemptedAt;
+        }
+
+        public int getLevel() { return level; }
+        public int getScore() { return score; }
+        public LocalDateTime getAttemptedAt() { return attemptedAt; }
+    }
+
+    private AssessmentProgress(int attempted, int passed, List<LevelResult> results) {
+        this.attempted = attempted;
+        this.passed = passed;
+        this.results = results;
+    }
+
+    public static AssessmentProgress of(List<AssessmentResult> results, int passMarks) {
+        AssessmentProgress progress = EMPTY;
+        for (AssessmentResult r : results) {
+            progress = progress.with(r.getLevel(), r.getScore(), r.getAttemptedAt(), passMarks);
+        }
+        return progress;
+    }
+
+    // A copy with one more level result; an existing result for the level is replaced
+    public AssessmentProgress with(int level, int score, LocalDateTime attemptedAt, int passMarks) {
+        int bit = bit(level);
+        List<LevelResult> next = new ArrayList<>(results.size() + 1);
+        for (LevelResult r : results) {
+            if (r.getLevel() != level) next.add(r);
+        }
+        next.add(new LevelResult(level, score, attemptedAt));
+        next.sort(Comparator.comparingInt(LevelResult::getLevel));
+        int nextPassed = score >= passMarks ? passed | bit : passed & ~bit;
+        return new AssessmentProgress(attempted | bit, nextPassed, List.copyOf(next));
+    }
+
+    public boolean hasAttempted(int level) {
+        return (attempted & bit(level)) != 0;
+    }
+
+    public boolean hasPassed(int level) {
+        return (passed & bit(level)) != 0;
+    }
+
+    // Attempted and failed some level below the given one
+    public boolean hasFailedBefore(int level) {
+        return (attempted & ~passed & (bit(level) - 1)) != 0;
+    }
+
+    // Level -> passed, for the levels attempted
+    public Map<Integer, Boolean> levelResults() {
+        Map<Integer, Boolean> map = new HashMap<>();
+        for (LevelResult r : results) {
+            map.put(r.getLevel(), hasPassed(r.getLevel()));
+        }
+        return map;
+    }
+
+    // Level -> score, for the levels attempted
+    public Map<Integer, Integer> levelMarks() {
+        Map<Integer, Integer> map = new HashMap<>();
+        for (LevelResult r : results) {
+            map.put(r.getLevel(), r.getScore());
+        }
+        return map;
+    }
+
+    public List<Integer> attemptedLevels() {
+        return results.stream().map(LevelResult::getLevel).toList();
+    }
+
+    // Ordered by level
+    public List<LevelResult> getResults() {
+        return results;
+    }
+
+    private static int bit(int level) {
+        if (level < 0 || level > 30) {
+            throw new IllegalArgumentException("Level out of range: " + level);
+        }
+        return 1 << level;
+    }
+}
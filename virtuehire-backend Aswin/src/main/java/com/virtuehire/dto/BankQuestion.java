@@ -0,0 +1,40 @@
+package com.virtuehire.dto;
+
+import com.virtuehire.model.Question;
+
+import java.util.List;
+
+/**
+ * Immutable copy of a question and its options, as held by the in-memory question bank.
+ * Has the same getters as Question, so assessment templates render either.
+ */
+public final class BankQuestion {
+
+    private final Long id;
+    private final String subject;
+    private final int level;
+    private final String text;
+    private final List<String> options;
+    private final String correctAnswer;
+
+    public BankQuestion(Long id, String subject, int level, String text, List<String> options, String correctAnswer) {
+        this.id = id;
+        this.subject = subject;
+        this.level = level;
+        this.text = text;
+        this.options = options == null ? List.of() : List.copyOf(options);
+        this.correctAnswer = correctAnswer;
+    }
+
+    public static BankQuestion of(Question question) {
+        return new BankQuestion(question.getId(), question.getSubject(), question.getLevel(), question.getText(),
+                question.getOptions(), question.getCorrectAnswer());
+    }
+
+    public Long getId() { return id; }
+    public String getSubject() { return subject; }
+    public int getLevel() { return level; }
+    public String getText() { return text; }
+    public List<String> getOptions() { return options; }
+    public String getCorrectAnswer() { return correctAnswer; }
+}
@@ -0,0 +1,17 @@
+package com.virtuehire.dto;
+
+import java.util.List;
+
+/**
+ * Body of the admin bulk endpoints. Either explicit ids, or filters selecting the
+ * rows to act on when ids is empty. Candidate actions use skills, experienceLevel,
+ * minScore and status ("approved", "pending" or "all"); HR actions use status
+ * ("verified" or "unverified"). reason is required for candidate rejection.
+ */
+public record BulkActionRequest(List<Long> ids, String skills, String experienceLevel,
+                                Integer minScore, String status, String reason) {
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+}
@@ -0,0 +1,12 @@
+package com.virtuehire.dto;
+
+/**
+ * Columns the admin candidate tables render. resumePath is only used to decide
+ * whether the download link is shown.
+ */
+public interface CandidateAdminRow extends CandidateSummary {
+    String getPhoneNumber();
+    Boolean getAssessmentTaken();
+    Boolean getApproved();
+    String getResumePath();
+}
@@ -0,0 +1,53 @@
+package com.virtuehire.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Sort key of the last row on a search page. Whatever the sort field, the next page
+ * starts right after this position, so the cursor carries every sortable column.
+ * Serialized as URL-safe Base64 so it can travel as a query param.
+ */
+public record CandidateCursor(Integer score, Integer experience, String fullName, long id) implements CandidateSortKey {
+
+    private static final String NONE = "-";
+
+    public static CandidateCursor of(CandidateSortKey key) {
+        return new CandidateCursor(key.getScore(), key.getExperience(), key.getFullName(), key.getId());
+    }
+
+    public String encode() {
+        String raw = format(score) + "|" + format(experience) + "|" + id + "|" + (fullName == null ? "" : fullName);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a missing or malformed cursor, which simply means "first page"
+    public static CandidateCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                return null;
+            }
+            return new CandidateCursor(parseNullable(parts[0]), parseNullable(parts[1]), parts[3], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String format(Integer value) {
+        return value == null ? NONE : value.toString();
+    }
+
+    private static Integer parseNullable(String value) {
+        return NONE.equals(value) ? null : Integer.valueOf(value);
+    }
+
+    @Override public Long getId() { return id; }
+    @Override public String getFullName() { return fullName; }
+    @Override public Integer getExperience() { return experience; }
+    @Override public Integer getScore() { return score; }
+}
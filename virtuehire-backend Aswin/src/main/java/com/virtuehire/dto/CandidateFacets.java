@@ -0,0 +1,9 @@
+package com.virtuehire.dto;
+
+import java.util.List;
+
+/**
+ * Facet counts over every candidate matching a search: the most common skills,
+ * the experience buckets and 10-point score bands (plus unscored).
+ */
+public record CandidateFacets(List<FacetCount> skills, List<FacetCount> experience, List<FacetCount> scoreBands) {}
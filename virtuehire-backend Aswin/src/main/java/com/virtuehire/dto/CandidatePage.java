@@ -0,0 +1,17 @@
+package com.virtuehire.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of search results, as whichever projection the caller asked for.
+ * nextCursor is null on the last page and totalMatches counts every candidate
+ * matching the filters, not just this page. facets is null when the search ran
+ * without the filter index.
+ */
+public record CandidatePage<T extends CandidateSortKey>(List<T> candidates, String nextCursor, long totalMatches,
+                                                        CandidateFacets facets) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
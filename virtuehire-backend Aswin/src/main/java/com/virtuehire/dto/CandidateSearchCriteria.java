@@ -0,0 +1,39 @@
+package com.virtuehire.dto;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Filters shared by the HR search and the admin candidate listing. Null or blank
+ * values mean "don't filter"; experienceLevel is "All", "Fresher" or "Experienced".
+ */
+public record CandidateSearchCriteria(String skills, String experienceLevel, Integer minScore, Boolean approved) {
+
+    public boolean hasSkills() {
+        return skills != null && !skills.trim().isEmpty();
+    }
+
+    /**
+     * Canonical form for use as a cache key: skills lower-cased, de-duplicated and
+     * sorted, and "All" or unknown experience levels dropped. Filters the same
+     * candidates as the original.
+     */
+    public CandidateSearchCriteria normalized() {
+        String normalizedSkills = null;
+        if (hasSkills()) {
+            normalizedSkills = Arrays.stream(skills.split(","))
+                    .map(term -> term.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " "))
+                    .filter(term -> !term.isEmpty())
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.joining(","));
+            if (normalizedSkills.isEmpty()) {
+                normalizedSkills = null;
+            }
+        }
+        String level = "Fresher".equals(experienceLevel) || "Experienced".equals(experienceLevel)
+                ? experienceLevel : null;
+        return new CandidateSearchCriteria(normalizedSkills, level, minScore, approved);
+    }
+}
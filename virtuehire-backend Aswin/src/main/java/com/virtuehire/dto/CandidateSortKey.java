@@ -0,0 +1,13 @@
+package com.virtuehire.dto;
+
+/**
+ * The columns candidate results can be ordered by. Used as a narrow projection when
+ * ranking matches, and implemented by Candidate and CandidateCursor so one comparator
+ * orders rows and positions alike.
+ */
+public interface CandidateSortKey {
+    Long getId();
+    String getFullName();
+    Integer getExperience();
+    Integer getScore();
+}
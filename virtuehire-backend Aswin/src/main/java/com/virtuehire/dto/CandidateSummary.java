@@ -0,0 +1,10 @@
+package com.virtuehire.dto;
+
+/**
+ * Columns the HR candidate list renders.
+ */
+public interface CandidateSummary extends CandidateSortKey {
+    String getEmail();
+    String getSkills();
+    String getBadge();
+}
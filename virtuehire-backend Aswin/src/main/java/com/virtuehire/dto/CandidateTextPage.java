@@ -0,0 +1,13 @@
+package com.virtuehire.dto;
+
+import java.util.List;
+
+/**
+ * One page of full-text search results, best match first. page is zero based.
+ */
+public record CandidateTextPage(List<CandidateSummary> candidates, long totalHits, int page, int size) {
+
+    public boolean hasNext() {
+        return (long) (page + 1) * size < totalHits;
+    }
+}
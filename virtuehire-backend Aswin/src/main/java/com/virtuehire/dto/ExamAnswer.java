@@ -0,0 +1,7 @@
+package com.virtuehire.dto;
+
+/**
+ * One saved answer in an exam session: the chosen option and when it was chosen
+ * (epoch milliseconds).
+ */
+public record ExamAnswer(String answer, long answeredAt) {}
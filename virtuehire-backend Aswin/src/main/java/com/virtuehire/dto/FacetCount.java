@@ -0,0 +1,7 @@
+package com.virtuehire.dto;
+
+/**
+ * One facet value and how many matching candidates have it. value is what the
+ * corresponding search filter takes (a skill term, an experience level, a minimum score).
+ */
+public record FacetCount(String label, String value, long count) {}
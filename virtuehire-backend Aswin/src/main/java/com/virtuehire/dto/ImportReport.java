@@ -0,0 +1,16 @@
+package com.virtuehire.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: rows read, inserted and rejected, throughput, and the
+ * error for each rejected row (the first ones only when there are very many).
+ */
+public record ImportReport(String type, long rows, long imported, long failed, long elapsedMs,
+                           double rowsPerSecond, List<RowError> errors, boolean errorsTruncated) {
+
+    /**
+     * Why one row was not imported; row 1 is the first data row after any header.
+     */
+    public record RowError(long row, String message) {}
+}
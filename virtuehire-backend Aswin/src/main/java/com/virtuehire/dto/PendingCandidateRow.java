@@ -0,0 +1,14 @@
+package com.virtuehire.dto;
+
+/**
+ * Columns the pending approval list needs to check a candidate's ID card.
+ */
+public interface PendingCandidateRow {
+    Long getId();
+    String getFullName();
+    String getEmail();
+    String getPhoneNumber();
+    String getCollegeUniversity();
+    Integer getYearOfGraduation();
+    String getIdCardPath();
+}
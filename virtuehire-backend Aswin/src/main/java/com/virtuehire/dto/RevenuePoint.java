@@ -0,0 +1,8 @@
+package com.virtuehire.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Revenue and successful payment count for one day or month of a revenue report.
+ */
+public record RevenuePoint(LocalDate period, double revenue, long payments) {}
@@ -0,0 +1,11 @@
+package com.virtuehire.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Successful payment revenue over [from, to] (both inclusive), in total and as a
+ * day or month series. planType and currency are null when not filtered.
+ */
+public record RevenueReport(LocalDate from, LocalDate to, String granularity, String planType, String currency,
+                            double totalRevenue, long paymentCount, List<RevenuePoint> series) {}
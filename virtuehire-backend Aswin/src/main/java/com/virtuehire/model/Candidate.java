@@ -1,15 +1,33 @@
 package com.virtuehire.model;
 
+import com.virtuehire.dto.CandidateSortKey;
+import com.virtuehire.service.PlatformStatsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PositiveOrZero;
 
-@Entity
-public class Candidate {
+import java.util.HashMap;
+import java.util.Map;
 
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_candidate_score_id", columnList = "score, id"),
+        @Index(name = "idx_candidate_approved_id", columnList = "approved, id"),
+        @Index(name = "idx_candidate_experience_id", columnList = "experience, id"),
+        @Index(name = "idx_candidate_name_id", columnList = "full_name, id"),
+        // Admin pending list sorts, always filtered on approved
+        @Index(name = "idx_candidate_approved_name_id", columnList = "approved, full_name, id"),
+        @Index(name = "idx_candidate_approved_graduation_id", columnList = "approved, year_of_graduation, id")
+})
+@EntityListeners(PlatformStatsListener.class)
+public class Candidate implements CandidateSortKey, StatsTracked {
+
+    // Ids come from id_sequences in blocks of 500 so inserts can be JDBC batched (IDENTITY can't be)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "candidate_ids")
+    @TableGenerator(name = "candidate_ids", table = "id_sequences", pkColumnName = "seq_name",
+            valueColumnName = "next_val", pkColumnValue = "candidate", allocationSize = 500)
     private Long id;
 
     @NotBlank
@@ -54,10 +72,19 @@ public class Candidate {
     private Integer score;
     private String levelAttempted; // Basic/Intermediate/Advanced
 
+    // Running assessment aggregates, updated by the statement that records each level result
+    private Integer assessmentTotalScore; // sum of all level scores
+    private Integer levelsAttempted;
+    private Integer highestLevelPassed;
+
     private String idCardPath; // Store ID card file path
     private Boolean approved = false; // Admin approval status
     private String rejectionReason; // Reason if rejected
 
+    // Stats this row counted toward when loaded or last written
+    @Transient
+    private Map<String, PlatformStat.Delta> rememberedStats;
+
     // Add file size validation fields
     private static final long MAX_RESUME_SIZE = 5 * 1024 * 1024; // 5MB
     private static final long MAX_PROFILE_PIC_SIZE = 2 * 1024 * 1024; // 2MB
@@ -97,6 +124,15 @@ public class Candidate {
     public String getLevelAttempted() { return levelAttempted; }
     public void setLevelAttempted(String levelAttempted) { this.levelAttempted = levelAttempted; }
 
+    public int getAssessmentTotalScore() { return assessmentTotalScore != null ? assessmentTotalScore : 0; }
+    public void setAssessmentTotalScore(Integer assessmentTotalScore) { this.assessmentTotalScore = assessmentTotalScore; }
+
+    public int getLevelsAttempted() { return levelsAttempted != null ? levelsAttempted : 0; }
+    public void setLevelsAttempted(Integer levelsAttempted) { this.levelsAttempted = levelsAttempted; }
+
+    public int getHighestLevelPassed() { return highestLevelPassed != null ? highestLevelPassed : 0; }
+    public void setHighestLevelPassed(Integer highestLevelPassed) { this.highestLevelPassed = highestLevelPassed; }
+
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -151,4 +187,23 @@ public class Candidate {
 
     public String getProfilePic() { return profilePic; }
     public void setProfilePic(String profilePic) { this.profilePic = profilePic; }
+
+    // ===== Platform stats =====
+
+    @Override
+    public Map<String, PlatformStat.Delta> statsContribution() {
+        Map<String, PlatformStat.Delta> stats = new HashMap<>();
+        stats.put(Boolean.TRUE.equals(approved) ? PlatformStat.CANDIDATES_APPROVED : PlatformStat.CANDIDATES_PENDING,
+                PlatformStat.Delta.one());
+        if (Boolean.TRUE.equals(assessmentTaken)) {
+            stats.put(PlatformStat.CANDIDATES_ASSESSED, PlatformStat.Delta.one());
+        }
+        return stats;
+    }
+
+    @Override
+    public Map<String, PlatformStat.Delta> rememberedStats() { return rememberedStats; }
+
+    @Override
+    public void rememberStats(Map<String, PlatformStat.Delta> contribution) { this.rememberedStats = contribution; }
 }
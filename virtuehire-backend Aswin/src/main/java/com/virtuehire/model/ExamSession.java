@@ -0,0 +1,83 @@
+package com.virtuehire.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One attempt at one assessment level: the questions served, in order, and the
+ * answers saved so far as JSON ("q{id}" -> answer and when it was given). Kept in
+ * the database so an attempt can be resumed after a restart or on another instance.
+ */
+@Entity
+@Table(name = "exam_sessions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"candidate_id", "level"})
+})
+public class ExamSession {
+
+    @Id
+    @Column(length = 36)
+    private String id; // attempt id, also the submission's idempotency token
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    private int level;
+
+    @Column(columnDefinition = "TEXT")
+    private String questionIds; // comma separated, in the order served
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String answers; // JSON
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ExamSessionStatus status = ExamSessionStatus.ACTIVE;
+
+    private LocalDateTime startedAt = LocalDateTime.now();
+    private LocalDateTime updatedAt; // last answer saved
+    private LocalDateTime submittedAt;
+
+    @Version
+    private long version; // bumped by every flush, so a flush from a stale copy updates nothing
+
+    public ExamSession() {}
+
+    public ExamSession(String id, Long candidateId, int level, String questionIds) {
+        this.id = id;
+        this.candidateId = candidateId;
+        this.level = level;
+        this.questionIds = questionIds;
+        this.answers = "{}";
+    }
+
+    // Getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Long getCandidateId() { return candidateId; }
+    public void setCandidateId(Long candidateId) { this.candidateId = candidateId; }
+
+    public int getLevel() { return level; }
+    public void setLevel(int level) { this.level = level; }
+
+    public String getQuestionIds() { return questionIds; }
+    public void setQuestionIds(String questionIds) { this.questionIds = questionIds; }
+
+    public String getAnswers() { return answers; }
+    public void setAnswers(String answers) { this.answers = answers; }
+
+    public ExamSessionStatus getStatus() { return status; }
+    public void setStatus(ExamSessionStatus status) { this.status = status; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
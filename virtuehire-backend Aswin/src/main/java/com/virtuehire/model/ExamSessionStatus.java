@@ -0,0 +1,6 @@
+package com.virtuehire.model;
+
+public enum ExamSessionStatus {
+    ACTIVE,     // Questions served, answers being autosaved
+    SUBMITTED   // Answers handed to the submission pipeline; no more changes
+}
@@ -1,12 +1,23 @@
 package com.virtuehire.model;
 
+import com.virtuehire.service.PlatformStatsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
-public class Hr {
+@Table(indexes = {
+        @Index(name = "idx_hr_verified_id", columnList = "verified, id"),
+        // Admin HR list sorts, with and without the verified filter
+        @Index(name = "idx_hr_name_id", columnList = "full_name, id"),
+        @Index(name = "idx_hr_verified_name_id", columnList = "verified, full_name, id"),
+        @Index(name = "idx_hr_company_id", columnList = "company_name, id"),
+        @Index(name = "idx_hr_verified_company_id", columnList = "verified, company_name, id")
+})
+@EntityListeners(PlatformStatsListener.class)
+public class Hr implements StatsTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -51,6 +62,10 @@ public class Hr {
 
     private Boolean verified = false;
 
+    // Stats this row counted toward when loaded or last written
+    @Transient
+    private Map<String, PlatformStat.Delta> rememberedStats;
+
     // Constructors
     public Hr() {
         this.verified = false;
@@ -193,4 +208,22 @@ public class Hr {
     public void setVerified(Boolean verified) {
         this.verified = verified;
     }
-}
\ No newline at end of file
+
+    // ===== Platform stats =====
+
+    @Override
+    public Map<String, PlatformStat.Delta> statsContribution() {
+        String stat = Boolean.TRUE.equals(verified) ? PlatformStat.HRS_VERIFIED : PlatformStat.HRS_UNVERIFIED;
+        return Map.of(stat, PlatformStat.Delta.one());
+    }
+
+    @Override
+    public Map<String, PlatformStat.Delta> rememberedStats() {
+        return rememberedStats;
+    }
+
+    @Override
+    public void rememberStats(Map<String, PlatformStat.Delta> contribution) {
+        this.rememberedStats = contribution;
+    }
+}
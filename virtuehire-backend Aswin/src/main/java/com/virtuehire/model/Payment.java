@@ -1,12 +1,23 @@
 // Payment.java
 package com.virtuehire.model;
 
+import com.virtuehire.service.PlatformStatsListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
-@Table(name = "payments")
-public class Payment {
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payment_status_completed", columnList = "status, completed_at"),
+        @Index(name = "idx_payment_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_payment_created", columnList = "created_at"),
+        // Remaining admin payment list sorts, with and without the status filter
+        @Index(name = "idx_payment_completed", columnList = "completed_at"),
+        @Index(name = "idx_payment_amount", columnList = "amount"),
+        @Index(name = "idx_payment_status_amount", columnList = "status, amount")
+})
+@EntityListeners(PlatformStatsListener.class)
+public class Payment implements StatsTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,6 +49,10 @@ public class Payment {
     // Plan type for subscription
     private String planType; // BASIC, PREMIUM, ENTERPRISE
 
+    // Stats this row counted toward when loaded or last written
+    @Transient
+    private Map<String, PlatformStat.Delta> rememberedStats;
+
     // Constructors
     public Payment() {}
 
@@ -84,4 +99,18 @@ public class Payment {
 
     public String getPlanType() { return planType; }
     public void setPlanType(String planType) { this.planType = planType; }
-}
\ No newline at end of file
+
+    // ===== Platform stats =====
+
+    @Override
+    public Map<String, PlatformStat.Delta> statsContribution() {
+        PaymentStatus counted = status != null ? status : PaymentStatus.PENDING;
+        return Map.of(PlatformStat.payments(counted), new PlatformStat.Delta(1, amount != null ? amount : 0));
+    }
+
+    @Override
+    public Map<String, PlatformStat.Delta> rememberedStats() { return rememberedStats; }
+
+    @Override
+    public void rememberStats(Map<String, PlatformStat.Delta> contribution) { this.rememberedStats = contribution; }
+}
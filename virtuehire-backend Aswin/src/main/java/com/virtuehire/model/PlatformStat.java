@@ -0,0 +1,70 @@
+package com.virtuehire.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One materialized platform total, e.g. verified HRs or successful payments with
+ * their summed amount. Rows are moved by atomic delta updates as entities change
+ * and recomputed by the periodic reconciliation.
+ */
+@Entity
+@Table(name = "platform_stats")
+public class PlatformStat {
+
+    public static final String HRS_VERIFIED = "hrs.verified";
+    public static final String HRS_UNVERIFIED = "hrs.unverified";
+    public static final String CANDIDATES_APPROVED = "candidates.approved";
+    public static final String CANDIDATES_PENDING = "candidates.pending";
+    public static final String CANDIDATES_ASSESSED = "candidates.assessed";
+
+    public static String payments(PaymentStatus status) {
+        return "payments." + status.name();
+    }
+
+    /**
+     * A change to one stat: rows added (or removed, if negative) and amount moved.
+     */
+    public record Delta(long count, double amount) {
+
+        public static Delta one() {
+            return new Delta(1, 0);
+        }
+
+        public Delta plus(Delta other) {
+            return new Delta(count + other.count, amount + other.amount);
+        }
+
+        public Delta negate() {
+            return new Delta(-count, -amount);
+        }
+
+        public boolean isZero() {
+            return count == 0 && amount == 0;
+        }
+    }
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    private long count;
+
+    private double amount;
+
+    public PlatformStat() {}
+
+    public PlatformStat(String name, long count, double amount) {
+        this.name = name;
+        this.count = count;
+        this.amount = amount;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public double getAmount() { return amount; }
+    public void setAmount(double amount) { this.amount = amount; }
+}
@@ -7,8 +7,11 @@ import java.util.List;
 @Table(name = "questions")
 public class Question {
 
+    // Ids come from id_sequences in blocks of 500 so inserts can be JDBC batched (IDENTITY can't be)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "question_ids")
+    @TableGenerator(name = "question_ids", table = "id_sequences", pkColumnName = "seq_name",
+            valueColumnName = "next_val", pkColumnValue = "questions", allocationSize = 500)
     private Long id;
 
     // Difficulty level: 1 = Easy, 2 = Medium, 3 = Hard
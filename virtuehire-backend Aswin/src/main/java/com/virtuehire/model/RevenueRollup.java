@@ -0,0 +1,62 @@
+package com.virtuehire.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Successful payment revenue and count for one day or month, plan type and currency.
+ * periodStart is the day itself, or the first day of the month.
+ */
+@Entity
+@Table(name = "revenue_rollup", uniqueConstraints = @UniqueConstraint(
+        name = "uk_revenue_rollup_period",
+        columnNames = {"granularity", "period_start", "plan_type", "currency"}))
+public class RevenueRollup {
+
+    // Stored instead of null so the unique key also dedupes rows without a plan type
+    public static final String NO_PLAN = "NONE";
+
+    public enum Granularity { DAY, MONTH }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Granularity granularity;
+
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false, length = 32)
+    private String planType;
+
+    @Column(nullable = false, length = 8)
+    private String currency;
+
+    private double revenue;
+
+    private long paymentCount;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Granularity getGranularity() { return granularity; }
+    public void setGranularity(Granularity granularity) { this.granularity = granularity; }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public String getPlanType() { return planType; }
+    public void setPlanType(String planType) { this.planType = planType; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public double getRevenue() { return revenue; }
+    public void setRevenue(double revenue) { this.revenue = revenue; }
+
+    public long getPaymentCount() { return paymentCount; }
+    public void setPaymentCount(long paymentCount) { this.paymentCount = paymentCount; }
+}
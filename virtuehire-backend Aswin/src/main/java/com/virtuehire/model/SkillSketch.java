@@ -0,0 +1,42 @@
+package com.virtuehire.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted HyperLogLog registers of the distinct skill terms across all candidates,
+ * so the estimate survives restarts without rescanning the candidate table.
+ */
+@Entity
+@Table(name = "skill_sketch")
+public class SkillSketch {
+
+    public static final String UNIQUE_SKILLS = "unique-skills";
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] registers;
+
+    private LocalDateTime updatedAt;
+
+    public SkillSketch() {}
+
+    public SkillSketch(String name, byte[] registers) {
+        this.name = name;
+        this.registers = registers;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public byte[] getRegisters() { return registers; }
+    public void setRegisters(byte[] registers) { this.registers = registers; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
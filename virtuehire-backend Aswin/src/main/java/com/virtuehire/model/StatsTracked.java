@@ -0,0 +1,17 @@
+package com.virtuehire.model;
+
+import java.util.Map;
+
+/**
+ * An entity counted in platform_stats. statsContribution() says which stats the row
+ * counts toward in its current state; the remembered copy is what it counted toward
+ * when it was loaded or last written, so an update can be turned into a delta.
+ */
+public interface StatsTracked {
+
+    Map<String, PlatformStat.Delta> statsContribution();
+
+    Map<String, PlatformStat.Delta> rememberedStats();
+
+    void rememberStats(Map<String, PlatformStat.Delta> contribution);
+}
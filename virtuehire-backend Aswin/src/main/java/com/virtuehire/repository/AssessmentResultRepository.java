@@ -1,11 +1,35 @@
 package com.virtuehire.repository;
 
 import com.virtuehire.model.AssessmentResult;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AssessmentResultRepository extends JpaRepository<AssessmentResult, Long> {
     Optional<AssessmentResult> findByCandidateIdAndLevel(Long candidateId, int level);
     List<AssessmentResult> findByCandidateId(Long candidateId);
+
+    // Stores the result unless (candidate, level) already has one; 1 when it was stored, else 0
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO assessment_results (candidate_id, level, score, attempted_at) "
+            + "VALUES (:candidateId, :level, :score, :attemptedAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("candidateId") Long candidateId, @Param("level") int level,
+                       @Param("score") int score, @Param("attemptedAt") LocalDateTime attemptedAt);
+
+    // CSV export: every result with its candidate, streamed row by row
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id, c.id, c.email, r.level, r.score, r.attemptedAt "
+            + "FROM AssessmentResult r JOIN r.candidate c ORDER BY r.id")
+    Stream<Object[]> streamExportRows();
 }
@@ -1,14 +1,95 @@
 package com.virtuehire.repository;
 
+import com.virtuehire.dto.CandidateAdminRow;
+import com.virtuehire.dto.PendingCandidateRow;
 import com.virtuehire.model.Candidate;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface CandidateRepository extends JpaRepository<Candidate, Long> {
+public interface CandidateRepository extends JpaRepository<Candidate, Long>,
+        JpaSpecificationExecutor<Candidate>, CandidateRepositoryCustom {
 
     // Find candidate by email (needed for login)
     Optional<Candidate> findByEmail(String email);
 
+    // Which of the given emails are already registered, one query per import batch
+    @Query("SELECT c.email FROM Candidate c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     // Optional: combined email+password lookup
     Optional<Candidate> findByEmailAndPassword(String email, String password);
+
+    // Narrow scan used to build the in-memory filter index
+    @Query("SELECT c.id, c.skills, c.experience, c.fullName, c.score, c.approved FROM Candidate c")
+    List<Object[]> findAllIndexColumns();
+
+    // Only the columns of the given projection, e.g. sort keys for ranking or list rows for a page
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> type);
+
+    // Admin verification list, one page at a time
+    Page<PendingCandidateRow> findByApproved(Boolean approved, Pageable pageable);
+
+    // Keyset batches of (id, skills) for the exact distinct skill recount
+    @Query("SELECT c.id, c.skills FROM Candidate c WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findSkillsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // For admin dashboard
+    long countByApproved(Boolean approved);
+    long countByExperienceGreaterThan(Integer experience);
+    long countByAssessmentTakenTrue();
+    List<CandidateAdminRow> findAllByOrderByIdDesc(Pageable pageable);
+
+    // Bulk approval: (id, approved, yearOfGraduation) of one chunk, locked until the chunk commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id, c.approved, c.yearOfGraduation FROM Candidate c WHERE c.id IN :ids")
+    List<Object[]> lockApprovalState(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Folds one new level result into the candidate row: assessed flag, best score,
+     * running total, levels attempted and highest level passed (passedLevel is the
+     * level if it was passed, else 0), plus the badge when one is awarded. Run once
+     * per stored result, without reading the row first.
+     */
+    @Modifying
+    @Query(value = "UPDATE candidate SET assessment_taken = true, "
+            + "score = GREATEST(COALESCE(score, 0), :score), "
+            + "assessment_total_score = COALESCE(assessment_total_score, 0) + :score, "
+            + "levels_attempted = COALESCE(levels_attempted, 0) + 1, "
+            + "highest_level_passed = GREATEST(COALESCE(highest_level_passed, 0), :passedLevel), "
+            + "badge = COALESCE(:badge, badge) "
+            + "WHERE id = :id", nativeQuery = true)
+    int addResult(@Param("id") Long id, @Param("score") int score, @Param("passedLevel") int passedLevel,
+                  @Param("badge") String badge);
+
+    @Modifying
+    @Query("UPDATE Candidate c SET c.approved = true WHERE c.id IN :ids")
+    int approveAll(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Candidate c SET c.rejectionReason = :reason WHERE c.id IN :ids")
+    int rejectAll(@Param("ids") Collection<Long> ids, @Param("reason") String reason);
+
+    // CSV export: every candidate, no credentials, streamed row by row (MySQL streams with fetch size MIN_VALUE)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id, c.fullName, c.email, c.phoneNumber, c.gender, c.city, c.state, c.highestEducation, "
+            + "c.collegeUniversity, c.yearOfGraduation, c.skills, c.experience, c.assessmentTaken, c.score, "
+            + "c.badge, c.approved, c.rejectionReason FROM Candidate c ORDER BY c.id")
+    Stream<Object[]> streamExportRows();
 }
@@ -0,0 +1,13 @@
+package com.virtuehire.repository;
+
+import com.virtuehire.model.Candidate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface CandidateRepositoryCustom {
+
+    // Ids of a sorted, limited fetch, without the extra COUNT query that Page results run
+    List<Long> findTopIds(Specification<Candidate> spec, Sort sort, int limit);
+}
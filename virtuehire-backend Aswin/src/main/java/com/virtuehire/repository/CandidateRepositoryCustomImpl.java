@@ -0,0 +1,55 @@
+package com.virtuehire.repository;
+
+import com.virtuehire.model.Candidate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CandidateRepositoryCustomImpl implements CandidateRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findTopIds(Specification<Candidate> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Candidate> root = query.from(Candidate.class);
+        query.select(root.<Long>get("id"));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // MySQL already puts NULLs last in a DESC sort; an ASC sort that wants them last sorts on IS NULL first
+    private static List<Order> toOrders(Sort sort, Root<Candidate> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<Object> column = root.get(order.getProperty());
+            if (order.isAscending() && order.getNullHandling() == Sort.NullHandling.NULLS_LAST) {
+                orders.add(cb.asc(cb.selectCase().when(cb.isNull(column), 1).otherwise(0)));
+            }
+            orders.add(order.isAscending() ? cb.asc(column) : cb.desc(column));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,100 @@
+package com.virtuehire.repository;
+
+import com.virtuehire.dto.CandidateCursor;
+import com.virtuehire.model.Candidate;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reusable query fragments for candidate search. Every filter returns null when
+ * it is not set so the fragments can be chained with Specification.where(..).and(..).
+ */
+public final class CandidateSpecifications {
+
+    private CandidateSpecifications() {}
+
+    // Matches if any comma separated keyword appears in the skills column
+    public static Specification<Candidate> skillsContainAny(String skills) {
+        if (skills == null || skills.trim().isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<String> candidateSkills = cb.lower(root.<String>get("skills"));
+            List<Predicate> matches = new ArrayList<>();
+            for (String keyword : skills.toLowerCase().split(",")) {
+                matches.add(cb.like(candidateSkills, "%" + keyword.trim() + "%"));
+            }
+            return cb.or(matches.toArray(new Predicate[0]));
+        };
+    }
+
+    // Fresher = 0-1 years, Experienced = 2+ years, missing experience counts as 0
+    public static Specification<Candidate> experienceBucket(String experienceLevel) {
+        if (experienceLevel == null || experienceLevel.equals("All")) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<Integer> experience = cb.coalesce(root.<Integer>get("experience"), 0);
+            if (experienceLevel.equals("Fresher")) {
+                return cb.le(experience, 1);
+            } else if (experienceLevel.equals("Experienced")) {
+                return cb.ge(experience, 2);
+            }
+            return null;
+        };
+    }
+
+    // Candidates without a score are kept, same as the HR search always did
+    public static Specification<Candidate> minScoreOrUnscored(Integer minScore) {
+        if (minScore == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.<Integer>get("score")),
+                cb.ge(root.<Integer>get("score"), minScore));
+    }
+
+    public static Specification<Candidate> approvedEquals(Boolean approved) {
+        if (approved == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("approved"), approved);
+    }
+
+    /**
+     * Keyset predicate for ordering by score, experience or name and then id, both in
+     * the given direction: rows that come after the cursor's position. NULLs of the
+     * sort column sort after every value either way, e.g. unscored candidates last.
+     */
+    public static Specification<Candidate> after(CandidateCursor cursor, String sortField, boolean descending) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate idAfter = descending ? cb.lt(id, cursor.id()) : cb.gt(id, cursor.id());
+            return switch (sortField) {
+                case "experience" -> after(cb, root.get("experience"), cursor.experience(), descending, idAfter);
+                case "name" -> after(cb, root.get("fullName"), cursor.fullName(), descending, idAfter);
+                default -> after(cb, root.get("score"), cursor.score(), descending, idAfter);
+            };
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Path<Y> column, Y value,
+                                                                     boolean descending, Predicate idAfter) {
+        if (value == null) {
+            return cb.and(cb.isNull(column), idAfter);
+        }
+        return cb.or(
+                descending ? cb.lessThan(column, value) : cb.greaterThan(column, value),
+                cb.isNull(column),
+                cb.and(cb.equal(column, value), idAfter));
+    }
+}
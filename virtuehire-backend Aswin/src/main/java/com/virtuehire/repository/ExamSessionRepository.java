@@ -0,0 +1,10 @@
+package com.virtuehire.repository;
+
+import com.virtuehire.model.ExamSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ExamSessionRepository extends JpaRepository<ExamSession, String> {
+    Optional<ExamSession> findByCandidateIdAndLevel(Long candidateId, int level);
+}
@@ -1,10 +1,51 @@
 package com.virtuehire.repository;
 
 import com.virtuehire.model.Hr;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface HrRepository extends JpaRepository<Hr, Long> {
     Optional<Hr> findByEmail(String email);
+
+    // For admin dashboard
+    long countByVerified(Boolean verified);
+
+    // Admin HR list, one page at a time
+    Page<Hr> findByVerified(Boolean verified, Pageable pageable);
+
+    // Bulk verification: ids matching a status filter, and (id, verified) of one chunk locked until it commits
+    @Query("SELECT h.id FROM Hr h WHERE h.verified = :verified ORDER BY h.id")
+    List<Long> findIdsByVerified(@Param("verified") Boolean verified);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h.id, h.verified FROM Hr h WHERE h.id IN :ids")
+    List<Object[]> lockVerificationState(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Hr h SET h.verified = :verified WHERE h.id IN :ids")
+    int setVerified(@Param("ids") Collection<Long> ids, @Param("verified") Boolean verified);
+
+    // CSV export: every HR, no credentials, streamed row by row
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h.id, h.fullName, h.email, h.phoneNumber, h.companyName, h.jobTitle, h.companyWebsite, "
+            + "h.industry, h.city, h.state, h.planType, h.planExpiryDate, h.remainingViews, h.verified "
+            + "FROM Hr h ORDER BY h.id")
+    Stream<Object[]> streamExportRows();
 }
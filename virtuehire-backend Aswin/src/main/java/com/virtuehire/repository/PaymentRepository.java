@@ -2,9 +2,17 @@ package com.virtuehire.repository;
 
 import com.virtuehire.model.Payment;
 import com.virtuehire.model.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
@@ -15,4 +23,30 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     // For admin dashboard
     long countByStatus(PaymentStatus status);
-}
\ No newline at end of file
+
+    // Status, count and summed amount per status, for platform stats reconciliation
+    @Query("SELECT p.status, COUNT(p), COALESCE(SUM(p.amount), 0) FROM Payment p GROUP BY p.status")
+    List<Object[]> summarizeByStatus();
+
+    // Admin payment list, one page at a time with each payment's HR
+    @EntityGraph(attributePaths = "hr")
+    Page<Payment> findByStatus(PaymentStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "hr")
+    @Query("SELECT p FROM Payment p")
+    Page<Payment> findAllWithHr(Pageable pageable);
+
+    // Latest payments with their HR in the same query
+    @EntityGraph(attributePaths = "hr")
+    List<Payment> findByStatusOrderByCompletedAtDesc(PaymentStatus status, Pageable pageable);
+
+    // CSV export: every payment with its HR's and candidate's id, streamed row by row
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, h.id, h.email, c.id, p.amount, p.currency, p.status, p.planType, p.paymentMethod, "
+            + "p.paymentGatewayId, p.description, p.createdAt, p.completedAt "
+            + "FROM Payment p JOIN p.hr h LEFT JOIN p.candidate c ORDER BY p.id")
+    Stream<Object[]> streamExportRows();
+}
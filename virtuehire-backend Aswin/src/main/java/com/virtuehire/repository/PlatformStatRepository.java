@@ -0,0 +1,24 @@
+package com.virtuehire.repository;
+
+import com.virtuehire.model.PlatformStat;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PlatformStatRepository extends JpaRepository<PlatformStat, String> {
+
+    // Atomic in the database, so concurrent deltas never overwrite each other
+    @Modifying
+    @Query("UPDATE PlatformStat s SET s.count = s.count + :count, s.amount = s.amount + :amount WHERE s.name = :name")
+    int addDelta(@Param("name") String name, @Param("count") long count, @Param("amount") double amount);
+
+    // Used by reconciliation so concurrent deltas wait for the recount
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PlatformStat s")
+    List<PlatformStat> findAllForUpdate();
+}
@@ -1,17 +1,31 @@
 package com.virtuehire.repository;
 
 import com.virtuehire.model.Question;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import java.util.List;
+import java.util.Optional;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
+
+    // Options are fetched in the same query, otherwise every question rendered costs another SELECT
+    @EntityGraph(attributePaths = "options")
     List<Question> findBySubjectAndLevel(String subject, int level);
-    List<Question> findBySubject(String subject);
 
+    @EntityGraph(attributePaths = "options")
+    List<Question> findBySubjectOrderByIdAsc(String subject);
 
+    @EntityGraph(attributePaths = "options")
     List<Question> findByLevel(int level);
 
+    @EntityGraph(attributePaths = "options")
+    Optional<Question> findWithOptionsById(Long id);
+
+    // Every question with its options in one query, for the question bank and the admin list
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.options ORDER BY q.id")
+    List<Question> findAllWithOptions();
+
     // Get all unique subjects
     @Query("SELECT DISTINCT q.subject FROM Question q")
     List<String> findDistinctSubject();
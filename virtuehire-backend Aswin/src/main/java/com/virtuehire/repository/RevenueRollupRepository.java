@@ -0,0 +1,52 @@
+package com.virtuehire.repository;
+
+import com.virtuehire.model.RevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, Long> {
+
+    // Upsert of one successful payment into its period row (MySQL)
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollup (granularity, period_start, plan_type, currency, revenue, payment_count) " +
+            "VALUES (:granularity, :periodStart, :planType, :currency, :amount, 1) " +
+            "ON DUPLICATE KEY UPDATE revenue = revenue + VALUES(revenue), payment_count = payment_count + 1",
+            nativeQuery = true)
+    void addPayment(@Param("granularity") String granularity, @Param("periodStart") LocalDate periodStart,
+                    @Param("planType") String planType, @Param("currency") String currency,
+                    @Param("amount") double amount);
+
+    // Backfill: day rows straight from the payments table
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollup (granularity, period_start, plan_type, currency, revenue, payment_count) " +
+            "SELECT 'DAY', DATE(p.completed_at), COALESCE(p.plan_type, 'NONE'), COALESCE(p.currency, 'INR'), " +
+            "COALESCE(SUM(p.amount), 0), COUNT(*) " +
+            "FROM payments p WHERE p.status = 'SUCCESS' AND p.completed_at IS NOT NULL " +
+            "GROUP BY DATE(p.completed_at), COALESCE(p.plan_type, 'NONE'), COALESCE(p.currency, 'INR')",
+            nativeQuery = true)
+    int backfillDays();
+
+    // Backfill: month rows folded from the day rows
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollup (granularity, period_start, plan_type, currency, revenue, payment_count) " +
+            "SELECT 'MONTH', DATE_FORMAT(r.period_start, '%Y-%m-01'), r.plan_type, r.currency, " +
+            "SUM(r.revenue), SUM(r.payment_count) " +
+            "FROM revenue_rollup r WHERE r.granularity = 'DAY' " +
+            "GROUP BY DATE_FORMAT(r.period_start, '%Y-%m-01'), r.plan_type, r.currency",
+            nativeQuery = true)
+    int backfillMonths();
+
+    // Period, revenue and payment count per period in [from, to]; null plan type or currency means all
+    @Query("SELECT r.periodStart, SUM(r.revenue), SUM(r.paymentCount) FROM RevenueRollup r " +
+            "WHERE r.granularity = :granularity AND r.periodStart BETWEEN :from AND :to " +
+            "AND (:planType IS NULL OR r.planType = :planType) AND (:currency IS NULL OR r.currency = :currency) " +
+            "GROUP BY r.periodStart ORDER BY r.periodStart")
+    List<Object[]> sumByPeriod(@Param("granularity") RevenueRollup.Granularity granularity,
+                               @Param("from") LocalDate from, @Param("to") LocalDate to,
+                               @Param("planType") String planType, @Param("currency") String currency);
+}
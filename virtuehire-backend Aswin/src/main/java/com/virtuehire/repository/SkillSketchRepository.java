@@ -0,0 +1,7 @@
+package com.virtuehire.repository;
+
+import com.virtuehire.model.SkillSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SkillSketchRepository extends JpaRepository<SkillSketch, String> {
+}
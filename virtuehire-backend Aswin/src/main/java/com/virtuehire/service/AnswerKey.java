@@ -0,0 +1,106 @@
+package com.virtuehire.service;
+
+import com.virtuehire.dto.BankQuestion;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One level's answer key compiled for grading: question ids in a sorted long[],
+ * and for each the index of its correct option and that option's options array.
+ *
+ * A submission is scored in a single pass over the submitted fields. Each "q{id}"
+ * key is parsed in place, the id is binary searched, and the answer is compared
+ * with the correct option ignoring case. Only "q{id}" without leading zeros names a
+ * question, and each question is scored at most once. Nothing is allocated per answer.
+ */
+public final class AnswerKey {
+
+    public static final AnswerKey EMPTY = new AnswerKey(new long[0], new int[0], new String[0][]);
+
+    private final long[] ids;
+    private final int[] correctOption; // -1 when the stored answer is not one of the options
+    private final String[][] options;
+
+    private AnswerKey(long[] ids, int[] correctOption, String[][] options) {
+        this.ids = ids;
+        this.correctOption = correctOption;
+        this.options = options;
+    }
+
+    public static AnswerKey compile(List<BankQuestion> questions) {
+        List<BankQuestion> sorted = questions.stream()
+                .sorted(Comparator.comparing(BankQuestion::getId))
+                .toList();
+        long[] ids = new long[sorted.size()];
+        int[] correctOption = new int[sorted.size()];
+        String[][] options = new String[sorted.size()][];
+        for (int i = 0; i < sorted.size(); i++) {
+            BankQuestion question = sorted.get(i);
+            ids[i] = question.getId();
+            options[i] = question.getOptions().toArray(new String[0]);
+            correctOption[i] = indexOf(options[i], question.getCorrectAnswer());
+        }
+        return new AnswerKey(ids, correctOption, options);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Number of correct answers in a submission of "q{id}" -> chosen option text.
+     * Unknown fields and unanswered questions count as wrong.
+     */
+    public int countCorrect(Map<String, String> answers) {
+        int correct = 0;
+        BitSet scored = new BitSet(ids.length);
+        for (Map.Entry<String, String> answer : answers.entrySet()) {
+            long id = parseQuestionId(answer.getKey());
+            if (id < 0) continue;
+            int i = Arrays.binarySearch(ids, id);
+            if (i < 0 || correctOption[i] < 0 || scored.get(i)) continue;
+            scored.set(i);
+            String chosen = answer.getValue();
+            if (chosen != null && chosen.equalsIgnoreCase(options[i][correctOption[i]])) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    // Whole percent of questions answered correctly, rounded down
+    public int percent(int correct) {
+        return ids.length == 0 ? 0 : (int) ((correct * 100L) / ids.length);
+    }
+
+    // "q123" -> 123 without creating a substring; -1 for any other field, including "q0123"
+    static long parseQuestionId(String key) {
+        int length = key.length();
+        if (length < 2 || length > 19 || key.charAt(0) != 'q') {
+            return -1;
+        }
+        if (key.charAt(1) == '0' && length > 2) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = 1; i < length; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    private static int indexOf(String[] options, String correctAnswer) {
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].equalsIgnoreCase(correctAnswer)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
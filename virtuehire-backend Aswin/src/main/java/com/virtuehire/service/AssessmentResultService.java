@@ -1,16 +1,22 @@
 package com.virtuehire.service;
 
+import com.virtuehire.dto.AssessmentProgress;
 import com.virtuehire.model.AssessmentResult;
 import com.virtuehire.model.Candidate;
+import com.virtuehire.model.PlatformStat;
 import com.virtuehire.repository.AssessmentResultRepository;
 import com.virtuehire.repository.CandidateRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Service
 public class AssessmentResultService {
@@ -18,37 +24,106 @@ public class AssessmentResultService {
     @Autowired
     private AssessmentResultRepository resultRepo;
 
+    // Candidate writes go through CandidateService so the filter index sees score and badge changes
     @Autowired
-    private CandidateRepository candidateRepo;
+    private CandidateService candidateService;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private PlatformStatsService platformStatsService;
 
     public static final int PASS_MARKS = 50;
 
+    // Passing this level earns the expert badge; levels unlock in order, so that means passing all of them
+    public static final int BADGE_LEVEL = 3;
+    public static final String EXPERT_BADGE = "Java Expert";
+
+    @Value("${assessment.progress.cache-size:10000}")
+    private int progressCacheSize;
+
+    // Recently used candidates' progress; an entry is dropped when a result is recorded for them
+    private final Map<Long, AssessmentProgress> progressCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, AssessmentProgress> eldest) {
+            return size() > progressCacheSize;
+        }
+    };
+    // Bumped on every eviction, so a load that raced with a new result is not cached
+    private long progressGeneration = 0;
+
+    /**
+     * The candidate's attempted and passed levels and scores, from the cache or one query.
+     */
+    public AssessmentProgress getProgress(Long candidateId) {
+        long generation;
+        synchronized (progressCache) {
+            AssessmentProgress cached = progressCache.get(candidateId);
+            if (cached != null) {
+                return cached;
+            }
+            generation = progressGeneration;
+        }
+        AssessmentProgress loaded = AssessmentProgress.of(resultRepo.findByCandidateId(candidateId), PASS_MARKS);
+        synchronized (progressCache) {
+            if (generation == progressGeneration) {
+                progressCache.put(candidateId, loaded);
+            }
+        }
+        return loaded;
+    }
+
     public boolean hasAttempted(Long candidateId, int level) {
-        return resultRepo.findByCandidateIdAndLevel(candidateId, level).isPresent();
+        return getProgress(candidateId).hasAttempted(level);
     }
 
     public boolean hasAttempted(Candidate candidate, int level) {
         return hasAttempted(candidate.getId(), level);
     }
 
-    // In AssessmentResultService.java - Update the saveResult method
-    public void saveResult(Candidate candidate, int level, int score) {
-        if (hasAttempted(candidate, level)) return;
-        AssessmentResult result = new AssessmentResult();
-        result.setCandidate(candidate);
-        result.setLevel(level);
-        result.setScore(score);
-        resultRepo.save(result);
-
-        // NEW: Update candidate's overall score if this is their highest score
-        if (candidate.getScore() == null || score > candidate.getScore()) {
-            candidate.setScore(score);
-            candidateRepo.save(candidate);
+    /**
+     * Stores a level result and updates the candidate's score, aggregates and badge.
+     * Returns false, and changes nothing, when the level was already recorded (e.g. a
+     * double submit). The caller's candidate is updated to match what was stored.
+     */
+    @Transactional
+    public boolean saveResult(Candidate candidate, int level, int score) {
+        if (!recordResult(candidate.getId(), level, score, LocalDateTime.now())) {
+            return false;
         }
+        Candidate stored = candidateRepository.findById(candidate.getId()).orElseThrow();
+        candidateService.reindex(List.of(stored));
+
+        candidate.setAssessmentTaken(true);
+        candidate.setScore(stored.getScore());
+        candidate.setAssessmentTotalScore(stored.getAssessmentTotalScore());
+        candidate.setLevelsAttempted(stored.getLevelsAttempted());
+        candidate.setHighestLevelPassed(stored.getHighestLevelPassed());
+        candidate.setBadge(stored.getBadge());
+        return true;
+    }
 
-        if (level == 3) {
-            calculateCumulativeAndAssignBadge(candidate);
+    /**
+     * The database side of recording a result, for use inside the caller's transaction:
+     * one INSERT IGNORE against the (candidate_id, level) unique key and, only if it
+     * inserted, one UPDATE folding the result into the candidate's aggregates and
+     * badge. Concurrent submissions of the same level cannot both get past the insert,
+     * so no lock or prior read is needed.
+     */
+    public boolean recordResult(Long candidateId, int level, int score, LocalDateTime attemptedAt) {
+        if (resultRepo.insertIfAbsent(candidateId, level, score, attemptedAt) == 0) {
+            return false;
         }
+        int passedLevel = score >= PASS_MARKS ? level : 0;
+        candidateRepository.addResult(candidateId, score, passedLevel, badgeFor(passedLevel));
+        evictProgressOnCompletion(candidateId);
+        if (level == 1) {
+            // Levels unlock in order, so a candidate's first result is level 1; the
+            // native update bypasses the entity listener that would count it
+            platformStatsService.record(Map.of(PlatformStat.CANDIDATES_ASSESSED, PlatformStat.Delta.one()));
+        }
+        return true;
     }
 
     public List<AssessmentResult> getCandidateResults(Long candidateId) {
@@ -56,61 +131,55 @@ public class AssessmentResultService {
     }
 
     public Map<Integer, Boolean> getLevelResults(Candidate candidate) {
-        List<AssessmentResult> results = getCandidateResults(candidate.getId());
-        Map<Integer, Boolean> map = new HashMap<>();
-        for (AssessmentResult r : results) {
-            map.put(r.getLevel(), r.getScore() >= PASS_MARKS);
-        }
-        return map;
+        return getProgress(candidate.getId()).levelResults();
     }
 
     public boolean hasPassed(Candidate candidate, int level) {
-        Optional<AssessmentResult> resultOpt = resultRepo.findByCandidateIdAndLevel(candidate.getId(), level);
-        return resultOpt.isPresent() && resultOpt.get().getScore() >= PASS_MARKS;
+        return getProgress(candidate.getId()).hasPassed(level);
     }
 
     public boolean hasFailedPreviousLevels(Candidate candidate, int currentLevel) {
-        List<AssessmentResult> results = getCandidateResults(candidate.getId());
-        for (AssessmentResult r : results) {
-            if (r.getLevel() < currentLevel && r.getScore() < PASS_MARKS) {
-                return true;
-            }
-        }
-        return false;
+        return getProgress(candidate.getId()).hasFailedBefore(currentLevel);
     }
 
+    // Re-applies the badge rule to the candidate's stored aggregates; no result rows are read
     public double calculateCumulativeAndAssignBadge(Candidate candidate) {
-        List<AssessmentResult> results = getCandidateResults(candidate.getId());
-
-        if (results.isEmpty()) {
+        if (candidate.getLevelsAttempted() == 0) {
             return 0.0;
         }
+        candidate.setBadge(badgeFor(candidate.getHighestLevelPassed()));
+        candidateService.save(candidate);
+        return cumulativePercentage(candidate);
+    }
 
-        int totalScore = 0;
-        int totalPossible = results.size() * 100;
-        boolean reachedLevel3 = false;
-        boolean passedLevel3 = false;
-
-        for (AssessmentResult r : results) {
-            totalScore += r.getScore();
-
-            if (r.getLevel() == 3) {
-                reachedLevel3 = true;
-                if (r.getScore() >= PASS_MARKS) {
-                    passedLevel3 = true;
+    // Now, so later reads in this transaction reload, and again once it ends, so no read of the old rows survives
+    private void evictProgressOnCompletion(Long candidateId) {
+        evictProgress(candidateId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictProgress(candidateId);
                 }
-            }
+            });
         }
+    }
 
-        double cumulativePercentage = (totalScore * 100.0) / totalPossible;
-
-        if (reachedLevel3 && passedLevel3 && cumulativePercentage >= 95) {
-            candidate.setBadge("Java Expert");
-        } else {
-            candidate.setBadge(null);
+    private void evictProgress(Long candidateId) {
+        synchronized (progressCache) {
+            progressCache.remove(candidateId);
+            progressGeneration++;
         }
+    }
+
+    // Average of the candidate's level scores, from the running aggregates
+    public static double cumulativePercentage(Candidate candidate) {
+        int attempted = candidate.getLevelsAttempted();
+        return attempted == 0 ? 0.0 : (candidate.getAssessmentTotalScore() * 100.0) / (attempted * 100);
+    }
 
-        candidateRepo.save(candidate);
-        return cumulativePercentage;
+    // The badge earned by having passed up to this level, or null for none
+    public static String badgeFor(int highestLevelPassed) {
+        return highestLevelPassed >= BADGE_LEVEL ? EXPERT_BADGE : null;
     }
-}
\ No newline at end of file
+}
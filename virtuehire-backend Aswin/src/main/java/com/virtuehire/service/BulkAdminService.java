@@ -0,0 +1,298 @@
+package com.virtuehire.service;
+
+import com.virtuehire.dto.BulkActionRequest;
+import com.virtuehire.dto.CandidateSearchCriteria;
+import com.virtuehire.model.PlatformStat;
+import com.virtuehire.repository.CandidateRepository;
+import com.virtuehire.repository.HrRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Admin bulk actions: approve or reject candidates, verify or unverify HRs, for a
+ * list of ids or everything matching a filter.
+ *
+ * Ids are processed in chunks, each in its own transaction: the chunk's rows are
+ * locked and read to decide every id's outcome, then changed with one set-based
+ * UPDATE. A failed chunk rolls back alone and its ids are reported as FAILED.
+ * Bulk UPDATEs skip the entity listeners, so each chunk records its stat deltas
+ * itself and, once committed, patches the candidate indexes and search cache.
+ *
+ * Jobs run one at a time in the background; callers poll the returned job.
+ */
+@Service
+public class BulkAdminService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkAdminService.class);
+
+    // Finished jobs kept for polling; the oldest finished one goes first
+    private static final int MAX_RETAINED_JOBS = 50;
+
+    private final CandidateRepository candidateRepository;
+    private final HrRepository hrRepository;
+    private final CandidateFilterIndex filterIndex;
+    private final CandidateSearchCache searchCache;
+    private final CandidateTextIndex textIndex;
+    private final PlatformStatsService platformStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "admin-bulk");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, BulkJob> jobs = new LinkedHashMap<>();
+
+    // What one chunk decided for each id, and which ids it actually changed
+    private record ChunkResult(List<BulkJob.IdOutcome> outcomes, List<Long> updated) {}
+
+    private interface ChunkAction {
+        ChunkResult apply(List<Long> chunk);
+    }
+
+    public BulkAdminService(CandidateRepository candidateRepository, HrRepository hrRepository,
+                            CandidateFilterIndex filterIndex, CandidateSearchCache searchCache,
+                            CandidateTextIndex textIndex, PlatformStatsService platformStatsService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${admin.bulk.chunk-size:500}") int chunkSize) {
+        this.candidateRepository = candidateRepository;
+        this.hrRepository = hrRepository;
+        this.filterIndex = filterIndex;
+        this.searchCache = searchCache;
+        this.textIndex = textIndex;
+        this.platformStatsService = platformStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    // ===== Candidates =====
+
+    /**
+     * Approves candidates, with the same graduation year check as the single approval.
+     */
+    public BulkJob approveCandidates(BulkActionRequest request) {
+        List<Long> ids = candidateIds(request);
+        return submit("approve-candidates", ids, chunk -> {
+            ChunkResult result = transactionTemplate.execute(status -> approveChunk(chunk));
+            if (!result.updated().isEmpty()) {
+                searchCache.invalidateAll(filterIndex.setApproved(result.updated(), true));
+                textIndex.setApproved(result.updated(), true);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Records a rejection reason on candidates, like the single rejection does.
+     */
+    public BulkJob rejectCandidates(BulkActionRequest request) {
+        if (request.reason() == null || request.reason().isBlank()) {
+            throw new IllegalArgumentException("A rejection reason is required");
+        }
+        List<Long> ids = candidateIds(request);
+        String reason = request.reason().trim();
+        return submit("reject-candidates", ids,
+                chunk -> transactionTemplate.execute(status -> rejectChunk(chunk, reason)));
+    }
+
+    private ChunkResult approveChunk(List<Long> chunk) {
+        int maxGraduationYear = Year.now().getValue() + 1;
+        Map<Long, Object[]> rows = byId(candidateRepository.lockApprovalState(chunk));
+
+        List<BulkJob.IdOutcome> outcomes = new ArrayList<>(chunk.size());
+        List<Long> toApprove = new ArrayList<>();
+        for (Long id : chunk) {
+            Object[] row = rows.get(id);
+            Integer yearOfGraduation = row == null ? null : (Integer) row[2];
+            BulkJob.Outcome outcome;
+            if (row == null) {
+                outcome = BulkJob.Outcome.NOT_FOUND;
+            } else if (Boolean.TRUE.equals(row[1])) {
+                outcome = BulkJob.Outcome.ALREADY_IN_STATE;
+            } else if (yearOfGraduation == null || yearOfGraduation > maxGraduationYear) {
+                outcome = BulkJob.Outcome.INVALID_GRADUATION_YEAR;
+            } else {
+                outcome = BulkJob.Outcome.UPDATED;
+                toApprove.add(id);
+            }
+            outcomes.add(new BulkJob.IdOutcome(id, outcome));
+        }
+
+        if (!toApprove.isEmpty()) {
+            candidateRepository.approveAll(toApprove);
+            platformStatsService.record(moved(PlatformStat.CANDIDATES_PENDING, PlatformStat.CANDIDATES_APPROVED,
+                    toApprove.size()));
+        }
+        return new ChunkResult(outcomes, toApprove);
+    }
+
+    private ChunkResult rejectChunk(List<Long> chunk, String reason) {
+        Map<Long, Object[]> rows = byId(candidateRepository.lockApprovalState(chunk));
+
+        List<BulkJob.IdOutcome> outcomes = new ArrayList<>(chunk.size());
+        List<Long> toReject = new ArrayList<>();
+        for (Long id : chunk) {
+            if (rows.containsKey(id)) {
+                toReject.add(id);
+                outcomes.add(new BulkJob.IdOutcome(id, BulkJob.Outcome.UPDATED));
+            } else {
+                outcomes.add(new BulkJob.IdOutcome(id, BulkJob.Outcome.NOT_FOUND));
+            }
+        }
+
+        // The reason is neither indexed nor counted, so nothing else to update
+        if (!toReject.isEmpty()) {
+            candidateRepository.rejectAll(toReject, reason);
+        }
+        return new ChunkResult(outcomes, toReject);
+    }
+
+    // Explicit ids in request order, or the filter resolved on the candidate index
+    private List<Long> candidateIds(BulkActionRequest request) {
+        if (request.hasIds()) {
+            return distinct(request.ids());
+        }
+        Boolean approved = "approved".equals(request.status()) ? Boolean.TRUE
+                : "pending".equals(request.status()) ? Boolean.FALSE : null;
+        CandidateSearchCriteria criteria = new CandidateSearchCriteria(request.skills(), request.experienceLevel(),
+                request.minScore(), approved).normalized();
+        if (criteria.skills() == null && criteria.experienceLevel() == null && criteria.minScore() == null
+                && criteria.approved() == null) {
+            throw new IllegalArgumentException("Give candidate ids or at least one filter");
+        }
+        if (!filterIndex.isReady()) {
+            throw new IllegalStateException("The candidate index is still loading, try again shortly");
+        }
+        return Arrays.stream(CandidateFilterIndex.toLongIds(filterIndex.match(criteria))).boxed().toList();
+    }
+
+    // ===== HRs =====
+
+    public BulkJob setHrsVerified(BulkActionRequest request, boolean verified) {
+        List<Long> ids;
+        if (request.hasIds()) {
+            ids = distinct(request.ids());
+        } else if ("verified".equals(request.status()) || "unverified".equals(request.status())) {
+            ids = hrRepository.findIdsByVerified("verified".equals(request.status()));
+        } else {
+            throw new IllegalArgumentException("Give HR ids or a status of verified or unverified");
+        }
+        return submit(verified ? "verify-hrs" : "unverify-hrs", ids,
+                chunk -> transactionTemplate.execute(status -> verifyChunk(chunk, verified)));
+    }
+
+    private ChunkResult verifyChunk(List<Long> chunk, boolean verified) {
+        Map<Long, Object[]> rows = byId(hrRepository.lockVerificationState(chunk));
+
+        List<BulkJob.IdOutcome> outcomes = new ArrayList<>(chunk.size());
+        List<Long> toChange = new ArrayList<>();
+        for (Long id : chunk) {
+            Object[] row = rows.get(id);
+            BulkJob.Outcome outcome;
+            if (row == null) {
+                outcome = BulkJob.Outcome.NOT_FOUND;
+            } else if (Boolean.TRUE.equals(row[1]) == verified) {
+                outcome = BulkJob.Outcome.ALREADY_IN_STATE;
+            } else {
+                outcome = BulkJob.Outcome.UPDATED;
+                toChange.add(id);
+            }
+            outcomes.add(new BulkJob.IdOutcome(id, outcome));
+        }
+
+        if (!toChange.isEmpty()) {
+            hrRepository.setVerified(toChange, verified);
+            platformStatsService.record(verified
+                    ? moved(PlatformStat.HRS_UNVERIFIED, PlatformStat.HRS_VERIFIED, toChange.size())
+                    : moved(PlatformStat.HRS_VERIFIED, PlatformStat.HRS_UNVERIFIED, toChange.size()));
+        }
+        return new ChunkResult(outcomes, toChange);
+    }
+
+    // ===== Jobs =====
+
+    public Optional<BulkJob> getJob(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    private BulkJob submit(String action, List<Long> ids, ChunkAction chunkAction) {
+        BulkJob job = new BulkJob(UUID.randomUUID().toString(), action, ids.size(), chunkSize);
+        synchronized (jobs) {
+            evictFinishedJobs();
+            jobs.put(job.getId(), job);
+        }
+        executor.submit(() -> run(job, ids, chunkAction));
+        return job;
+    }
+
+    private void run(BulkJob job, List<Long> ids, ChunkAction chunkAction) {
+        long start = System.currentTimeMillis();
+        job.start();
+        try {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                try {
+                    job.recordChunk(chunkAction.apply(chunk).outcomes(), true);
+                } catch (RuntimeException e) {
+                    log.warn("Bulk {} job {}: chunk of {} ids starting at {} failed: {}",
+                            job.getAction(), job.getId(), chunk.size(), chunk.get(0), e.getMessage());
+                    job.recordChunk(chunk.stream()
+                            .map(id -> new BulkJob.IdOutcome(id, BulkJob.Outcome.FAILED)).toList(), false);
+                }
+            }
+            job.complete();
+        } catch (RuntimeException e) {
+            log.error("Bulk {} job {} failed", job.getAction(), job.getId(), e);
+            job.fail(e.getMessage());
+        }
+        log.info("Bulk {} job {}: {} ids in {} ms, {}", job.getAction(), job.getId(), job.getProcessed(),
+                System.currentTimeMillis() - start, job.getCounts());
+    }
+
+    // Callers hold the jobs lock
+    private void evictFinishedJobs() {
+        Iterator<BulkJob> it = jobs.values().iterator();
+        while (jobs.size() >= MAX_RETAINED_JOBS && it.hasNext()) {
+            if (it.next().isFinished()) {
+                it.remove();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ===== Helpers =====
+
+    private static Map<Long, Object[]> byId(List<Object[]> rows) {
+        Map<Long, Object[]> byId = new HashMap<>();
+        for (Object[] row : rows) {
+            byId.put((Long) row[0], row);
+        }
+        return byId;
+    }
+
+    private static List<Long> distinct(List<Long> ids) {
+        return new ArrayList<>(new LinkedHashSet<>(ids.stream().filter(Objects::nonNull).toList()));
+    }
+
+    // n rows moving from one stat to another
+    private static Map<String, PlatformStat.Delta> moved(String from, String to, int n) {
+        return Map.of(from, new PlatformStat.Delta(-n, 0), to, new PlatformStat.Delta(n, 0));
+    }
+}
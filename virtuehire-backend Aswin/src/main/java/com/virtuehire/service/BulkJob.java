@@ -0,0 +1,98 @@
+package com.virtuehire.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of one admin bulk action: how many ids are done and totals per outcome.
+ * Only ids that were not updated are listed, up to MAX_LISTED_OUTCOMES, so a job over
+ * every pending candidate stays small to keep and to poll. Updated chunk by chunk
+ * while the job runs; the getters return snapshots so it can be polled and
+ * serialized at any time.
+ */
+public class BulkJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public enum Outcome { UPDATED, ALREADY_IN_STATE, NOT_FOUND, INVALID_GRADUATION_YEAR, FAILED }
+
+    public record IdOutcome(long id, Outcome outcome) {}
+
+    static final int MAX_LISTED_OUTCOMES = 1000;
+
+    private final String id;
+    private final String action;
+    private final int total;
+    private final int chunkSize;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private State state = State.QUEUED;
+    private int processed;
+    private int chunksCommitted;
+    private int chunksFailed;
+    private final Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+    private final List<IdOutcome> outcomes = new ArrayList<>(); // not UPDATED, capped
+    private boolean outcomesTruncated;
+    private String error;
+    private LocalDateTime finishedAt;
+
+    public BulkJob(String id, String action, int total, int chunkSize) {
+        this.id = id;
+        this.action = action;
+        this.total = total;
+        this.chunkSize = chunkSize;
+    }
+
+    synchronized void start() {
+        state = State.RUNNING;
+    }
+
+    synchronized void recordChunk(List<IdOutcome> chunkOutcomes, boolean committed) {
+        for (IdOutcome outcome : chunkOutcomes) {
+            counts.merge(outcome.outcome(), 1, Integer::sum);
+            if (outcome.outcome() == Outcome.UPDATED) continue;
+            if (outcomes.size() < MAX_LISTED_OUTCOMES) {
+                outcomes.add(outcome);
+            } else {
+                outcomesTruncated = true;
+            }
+        }
+        processed += chunkOutcomes.size();
+        if (committed) chunksCommitted++; else chunksFailed++;
+    }
+
+    synchronized void complete() {
+        state = State.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized void fail(String message) {
+        state = State.FAILED;
+        error = message;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public String getId() { return id; }
+    public String getAction() { return action; }
+    public int getTotal() { return total; }
+    public int getChunkSize() { return chunkSize; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public synchronized State getState() { return state; }
+    public synchronized int getProcessed() { return processed; }
+    public synchronized int getChunksCommitted() { return chunksCommitted; }
+    public synchronized int getChunksFailed() { return chunksFailed; }
+    public synchronized Map<Outcome, Integer> getCounts() { return new EnumMap<>(counts); }
+    // Ids that were not updated and why; the counts cover every id
+    public synchronized List<IdOutcome> getOutcomes() { return new ArrayList<>(outcomes); }
+    public synchronized boolean isOutcomesTruncated() { return outcomesTruncated; }
+    public synchronized String getError() { return error; }
+    public synchronized LocalDateTime getFinishedAt() { return finishedAt; }
+
+    public synchronized boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+}
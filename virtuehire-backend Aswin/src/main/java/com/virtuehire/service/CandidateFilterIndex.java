@@ -0,0 +1,489 @@
+package com.virtuehire.service;
+
+import com.virtuehire.dto.CandidateCursor;
+import com.virtuehire.dto.CandidateFacets;
+import com.virtuehire.dto.CandidateSearchCriteria;
+import com.virtuehire.dto.FacetCount;
+import com.virtuehire.model.Candidate;
+import com.virtuehire.repository.CandidateRepository;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmap index over candidate ids for the HR and admin candidate filters.
+ *
+ * Holds one bitmap per skill term, per experience bucket, per score point (0-100)
+ * plus one for unscored candidates, and one for approved candidates. A search is
+ * a few bitmap AND/ORs; score-ordered pages are read by walking the score bitmaps,
+ * which yields (score, id) order without sorting anything. Experience and name are
+ * kept per candidate as sort keys, and their pages are picked from the matches with
+ * a heap bounded by the page size.
+ *
+ * Skills are tokenized on commas into whole terms ("spring boot"), and multi-word
+ * terms are also indexed word by word ("spring", "boot"), so "java" does not match
+ * "javascript".
+ */
+@Component
+public class CandidateFilterIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateFilterIndex.class);
+
+    public static final int MAX_SCORE = 100;
+    // Fresher = 0-1 years, Experienced = 2+ years, same split the search form offers
+    private static final int EXPERIENCED_FROM_YEARS = 2;
+    private static final int SCORE_BAND_WIDTH = 10;
+    // Exclusive upper bound of the unsigned 32-bit id space, for range removals
+    private static final long ID_RANGE_END = 0x100000000L;
+
+    private final CandidateRepository candidateRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, RoaringBitmap> skills = new HashMap<>();
+    private final RoaringBitmap fresher = new RoaringBitmap();
+    private final RoaringBitmap experienced = new RoaringBitmap();
+    private final RoaringBitmap[] scores = new RoaringBitmap[MAX_SCORE + 1];
+    private final RoaringBitmap unscored = new RoaringBitmap();
+    private final RoaringBitmap approved = new RoaringBitmap();
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    // What is currently indexed for each candidate, needed to undo it on update
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private volatile boolean ready = false;
+
+    /**
+     * What the index holds for one candidate: its filterable state and sort keys.
+     */
+    public record Entry(Set<String> terms, Integer experience, String fullName, Integer score, boolean approved) {
+
+        // Missing experience counts as 0 years
+        public boolean experienced() {
+            return experience != null && experience >= EXPERIENCED_FROM_YEARS;
+        }
+
+        // Same rules as match(), applied to a single candidate
+        public boolean matches(CandidateSearchCriteria criteria) {
+            Set<String> wanted = queryTerms(criteria.skills());
+            if (!wanted.isEmpty() && Collections.disjoint(terms, wanted)) {
+                return false;
+            }
+            if ("Fresher".equals(criteria.experienceLevel()) && experienced()) {
+                return false;
+            }
+            if ("Experienced".equals(criteria.experienceLevel()) && !experienced()) {
+                return false;
+            }
+            if (criteria.minScore() != null && score != null && score < criteria.minScore()) {
+                return false;
+            }
+            return criteria.approved() == null || criteria.approved() == approved;
+        }
+    }
+
+    /**
+     * Index state of a candidate before and after an update; previous is null for a new candidate.
+     */
+    public record Change(Entry previous, Entry current) {}
+
+    /**
+     * Ids of one page in display order; hasMore tells whether another page follows.
+     */
+    public record Hits(List<Long> ids, boolean hasMore, long totalMatches) {}
+
+    public CandidateFilterIndex(CandidateRepository candidateRepository) {
+        this.candidateRepository = candidateRepository;
+        for (int s = 0; s <= MAX_SCORE; s++) {
+            scores[s] = new RoaringBitmap();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            skills.clear();
+            fresher.clear();
+            experienced.clear();
+            for (RoaringBitmap bitmap : scores) bitmap.clear();
+            unscored.clear();
+            approved.clear();
+            all.clear();
+            entries.clear();
+
+            for (Object[] row : candidateRepository.findAllIndexColumns()) {
+                add(toIndexId((Long) row[0]), entryOf((String) row[1], (Integer) row[2], (String) row[3],
+                        (Integer) row[4], (Boolean) row[5]));
+            }
+            skills.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Candidate filter index built: {} candidates, {} skill terms in {} ms",
+                all.getCardinality(), skills.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Re-index one candidate after it was saved
+    public Change update(Candidate candidate) {
+        int id = toIndexId(candidate.getId());
+        Entry entry = entryOf(candidate.getSkills(), candidate.getExperience(), candidate.getFullName(),
+                candidate.getScore(), candidate.getApproved());
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(id);
+            if (!entry.equals(previous)) {
+                if (previous != null) {
+                    remove(id, previous);
+                }
+                add(id, entry);
+            }
+            return new Change(previous, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flips the approved flag of candidates whose rows were changed by a bulk UPDATE,
+     * without reloading them. Ids the index doesn't hold are skipped.
+     */
+    public List<Change> setApproved(Collection<Long> ids, boolean isApproved) {
+        List<Change> changes = new ArrayList<>(ids.size());
+        lock.writeLock().lock();
+        try {
+            for (Long candidateId : ids) {
+                int id = toIndexId(candidateId);
+                Entry previous = entries.get(id);
+                if (previous == null || previous.approved() == isApproved) continue;
+                Entry entry = new Entry(previous.terms(), previous.experience(), previous.fullName(),
+                        previous.score(), isApproved);
+                if (isApproved) approved.add(id); else approved.remove(id);
+                entries.put(id, entry);
+                changes.add(new Change(previous, entry));
+            }
+            return changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bitmap of every candidate matching the criteria. Candidates without a score
+     * pass the minimum score filter, as they always have in the HR search.
+     */
+    public RoaringBitmap match(CandidateSearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = all.clone();
+
+            Set<String> wanted = queryTerms(criteria.skills());
+            if (!wanted.isEmpty()) {
+                result.and(anySkill(wanted));
+            }
+
+            String experienceLevel = criteria.experienceLevel();
+            if ("Fresher".equals(experienceLevel)) {
+                result.and(fresher);
+            } else if ("Experienced".equals(experienceLevel)) {
+                result.and(experienced);
+            }
+
+            if (criteria.minScore() != null) {
+                RoaringBitmap scoreRange = unscored.clone();
+                for (int s = Math.max(0, criteria.minScore()); s <= MAX_SCORE; s++) {
+                    scoreRange.or(scores[s]);
+                }
+                result.and(scoreRange);
+            }
+
+            if (criteria.approved() != null) {
+                if (criteria.approved()) {
+                    result.and(approved);
+                } else {
+                    result.andNot(approved);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads one page out of a match() result ordered by score then id, both in the
+     * given direction, with unscored candidates last either way. Starts after the
+     * cursor; only the score bands the page touches are intersected.
+     */
+    public Hits pageByScore(RoaringBitmap matches, CandidateCursor cursor, int limit, boolean descending) {
+        List<Long> ids = new ArrayList<>(limit + 1);
+
+        lock.readLock().lock();
+        try {
+            // A cursor on an unscored candidate means every scored band is already behind us
+            if (cursor == null || cursor.score() != null) {
+                int fromScore = cursor == null ? (descending ? MAX_SCORE : 0) : clampScore(cursor.score());
+                int step = descending ? -1 : 1;
+                for (int s = fromScore; s >= 0 && s <= MAX_SCORE && ids.size() <= limit; s += step) {
+                    RoaringBitmap band = RoaringBitmap.and(matches, scores[s]);
+                    if (cursor != null && s == fromScore) {
+                        skipThrough(band, cursor.id(), descending);
+                    }
+                    collect(band, ids, limit + 1, descending);
+                }
+            }
+            if (ids.size() <= limit) {
+                RoaringBitmap band = RoaringBitmap.and(matches, unscored);
+                if (cursor != null && cursor.score() == null) {
+                    skipThrough(band, cursor.id(), descending);
+                }
+                collect(band, ids, limit + 1, descending);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long total = matches.getLongCardinality();
+        if (ids.size() <= limit) {
+            return new Hits(ids, false, total);
+        }
+        // The extra id only tells us another page exists
+        ids.remove(limit);
+        return new Hits(ids, true, total);
+    }
+
+    /**
+     * Reads one page out of a match() result ordered by experience or name ("experience"
+     * or "name") then id, both in the given direction, with missing values last either
+     * way and names compared ignoring case. Starts after the cursor. Every match is
+     * looked at once, but only the best limit + 1 are kept.
+     */
+    public Hits pageBySortKey(RoaringBitmap matches, String sortField, CandidateCursor cursor, int limit,
+                              boolean descending) {
+        Comparator<Ranked> order = rankOrder("name".equals(sortField), descending);
+        Ranked after = cursor == null ? null : new Ranked(cursor.id(), cursor.experience(), cursor.fullName());
+        // Head is the worst row kept
+        PriorityQueue<Ranked> best = new PriorityQueue<>(limit + 2, order.reversed());
+
+        lock.readLock().lock();
+        try {
+            IntIterator it = matches.getIntIterator();
+            while (it.hasNext()) {
+                int id = it.next();
+                Entry entry = entries.get(id);
+                if (entry == null) continue;
+                Ranked row = new Ranked(id, entry.experience(), entry.fullName());
+                if (after != null && order.compare(row, after) <= 0) continue;
+                if (best.size() <= limit) {
+                    best.offer(row);
+                } else if (order.compare(row, best.peek()) < 0) {
+                    best.poll();
+                    best.offer(row);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Ranked> top = new ArrayList<>(best);
+        top.sort(order);
+        boolean hasMore = top.size() > limit;
+        List<Long> ids = new ArrayList<>(Math.min(top.size(), limit));
+        for (int i = 0; i < top.size() && i < limit; i++) {
+            ids.add(top.get(i).id());
+        }
+        return new Hits(ids, hasMore, matches.getLongCardinality());
+    }
+
+    /**
+     * Facet counts over a match() result. Each count is one AND-cardinality between
+     * bitmaps, which never materializes the intersection; when nothing is filtered the
+     * plain bitmap cardinalities are used instead.
+     */
+    public CandidateFacets facets(RoaringBitmap matches, int topSkills) {
+        lock.readLock().lock();
+        try {
+            boolean unfiltered = matches.getLongCardinality() == all.getLongCardinality();
+
+            // Min-heap of the most common skills; ties go to the alphabetically first term
+            Comparator<FacetCount> byCount = Comparator.comparingLong(FacetCount::count)
+                    .thenComparing(FacetCount::value, Comparator.reverseOrder());
+            PriorityQueue<FacetCount> top = new PriorityQueue<>(topSkills + 1, byCount);
+            for (Map.Entry<String, RoaringBitmap> skill : skills.entrySet()) {
+                long count = unfiltered ? skill.getValue().getLongCardinality()
+                        : RoaringBitmap.andCardinality(matches, skill.getValue());
+                if (count == 0) continue;
+                top.offer(new FacetCount(skill.getKey(), skill.getKey(), count));
+                if (top.size() > topSkills) top.poll();
+            }
+            List<FacetCount> skillFacets = new ArrayList<>(top);
+            skillFacets.sort(byCount.reversed());
+
+            List<FacetCount> experienceFacets = List.of(
+                    new FacetCount("Fresher", "Fresher", count(matches, fresher, unfiltered)),
+                    new FacetCount("Experienced", "Experienced", count(matches, experienced, unfiltered)));
+
+            // Highest band first; a perfect score falls in the top band (90-100)
+            List<FacetCount> scoreFacets = new ArrayList<>();
+            int topBand = (MAX_SCORE - 1) / SCORE_BAND_WIDTH * SCORE_BAND_WIDTH;
+            for (int low = topBand; low >= 0; low -= SCORE_BAND_WIDTH) {
+                int high = low == topBand ? MAX_SCORE : low + SCORE_BAND_WIDTH - 1;
+                long count = 0;
+                for (int s = low; s <= high; s++) {
+                    count += count(matches, scores[s], unfiltered);
+                }
+                scoreFacets.add(new FacetCount(low + "-" + high + "%", String.valueOf(low), count));
+            }
+            scoreFacets.add(new FacetCount("Unscored", null, count(matches, unscored, unfiltered)));
+
+            return new CandidateFacets(skillFacets, experienceFacets, scoreFacets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static long[] toLongIds(RoaringBitmap bitmap) {
+        return Arrays.stream(bitmap.toArray()).asLongStream().toArray();
+    }
+
+    // ===== Internals (callers hold the lock) =====
+
+    // Sort keys of one row while a page is ranked
+    private record Ranked(long id, Integer experience, String fullName) {}
+
+    private static Comparator<Ranked> rankOrder(boolean byName, boolean descending) {
+        Comparator<Ranked> keys;
+        if (byName) {
+            Comparator<String> names = descending ? String.CASE_INSENSITIVE_ORDER.reversed() : String.CASE_INSENSITIVE_ORDER;
+            keys = Comparator.comparing(Ranked::fullName, Comparator.nullsLast(names));
+        } else {
+            Comparator<Integer> years = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            keys = Comparator.comparing(Ranked::experience, Comparator.nullsLast(years));
+        }
+        Comparator<Long> ids = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return keys.thenComparing(Ranked::id, ids);
+    }
+
+    private RoaringBitmap anySkill(Set<String> terms) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (String term : terms) {
+            RoaringBitmap bitmap = skills.get(term);
+            if (bitmap != null) result.or(bitmap);
+        }
+        return result;
+    }
+
+    private static long count(RoaringBitmap matches, RoaringBitmap bitmap, boolean unfiltered) {
+        return unfiltered ? bitmap.getLongCardinality() : RoaringBitmap.andCardinality(matches, bitmap);
+    }
+
+    private static void collect(RoaringBitmap band, List<Long> ids, int want, boolean descending) {
+        IntIterator it = descending ? band.getReverseIntIterator() : band.getIntIterator();
+        while (it.hasNext() && ids.size() < want) {
+            ids.add((long) it.next());
+        }
+    }
+
+    // Drops the cursor id and everything before it in walk order
+    private static void skipThrough(RoaringBitmap band, long cursorId, boolean descending) {
+        if (descending) {
+            band.remove(cursorId, ID_RANGE_END);
+        } else {
+            band.remove(0L, cursorId + 1);
+        }
+    }
+
+    private void add(int id, Entry entry) {
+        for (String term : entry.terms()) {
+            skills.computeIfAbsent(term, t -> new RoaringBitmap()).add(id);
+        }
+        (entry.experienced() ? experienced : fresher).add(id);
+        scoreBitmap(entry.score()).add(id);
+        if (entry.approved()) approved.add(id);
+        all.add(id);
+        entries.put(id, entry);
+    }
+
+    private void remove(int id, Entry entry) {
+        for (String term : entry.terms()) {
+            RoaringBitmap bitmap = skills.get(term);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) skills.remove(term);
+            }
+        }
+        (entry.experienced() ? experienced : fresher).remove(id);
+        scoreBitmap(entry.score()).remove(id);
+        approved.remove(id);
+        all.remove(id);
+        entries.remove(id);
+    }
+
+    private RoaringBitmap scoreBitmap(Integer score) {
+        return score == null ? unscored : scores[clampScore(score)];
+    }
+
+    private static Entry entryOf(String skills, Integer experience, String fullName, Integer score, Boolean approved) {
+        return new Entry(tokenize(skills), experience, fullName, score, Boolean.TRUE.equals(approved));
+    }
+
+    private static int clampScore(int score) {
+        return Math.max(0, Math.min(MAX_SCORE, score));
+    }
+
+    // Bitmaps are 32-bit; candidate ids are far below that
+    private static int toIndexId(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    // ===== Tokenizing =====
+
+    public static Set<String> tokenize(String skills) {
+        Set<String> terms = new HashSet<>();
+        if (skills == null) {
+            return terms;
+        }
+        for (String part : skills.split(",")) {
+            String term = normalize(part);
+            if (term.isEmpty()) continue;
+            terms.add(term);
+            String[] words = term.split("[\\s/]+");
+            if (words.length > 1) {
+                for (String word : words) {
+                    if (!word.isEmpty()) terms.add(word);
+                }
+            }
+        }
+        return terms;
+    }
+
+    // Whole comma separated terms, normalized but not split into words
+    public static Set<String> queryTerms(String keywords) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (keywords == null) {
+            return terms;
+        }
+        for (String part : keywords.split(",")) {
+            String term = normalize(part);
+            if (!term.isEmpty()) terms.add(term);
+        }
+        return terms;
+    }
+
+    private static String normalize(String term) {
+        return term.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
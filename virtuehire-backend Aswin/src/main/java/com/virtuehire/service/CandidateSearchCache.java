@@ -0,0 +1,147 @@
+package com.virtuehire.service;
+
+import com.virtuehire.dto.CandidatePage;
+import com.virtuehire.dto.CandidateSearchCriteria;
+import com.virtuehire.dto.CandidateSortKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of candidate search pages, keyed by the normalized filters, sort,
+ * cursor, page size and row type. Entries expire after a TTL and are evicted
+ * selectively when a saved candidate matched, or now matches, their filters.
+ */
+@Component
+public class CandidateSearchCache {
+
+    /**
+     * Everything a search page depends on; build it from normalized criteria.
+     */
+    public record Key(CandidateSearchCriteria criteria, String sortField, boolean descending,
+                      String cursor, int size, Class<?> rowType) {}
+
+    private record Cached(CandidatePage<?> page, long expiresAt) {}
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Key, Cached> entries;
+
+    // Bumped on every invalidation, so a search that started before a save cannot cache its stale result
+    private long generation = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long expirations = 0;
+    private long invalidations = 0;
+
+    public CandidateSearchCache(@Value("${search.cache.max-entries:500}") int maxEntries,
+                                @Value("${search.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Cached> eldest) {
+                if (size() > CandidateSearchCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends CandidateSortKey> CandidatePage<T> get(Key key) {
+        Cached cached = entries.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        if (cached.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return (CandidatePage<T>) cached.page();
+    }
+
+    // Generation to hand back to put() once the search is done
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(Key key, CandidatePage<?> page, long searchedAtGeneration) {
+        if (maxEntries <= 0 || searchedAtGeneration != generation) {
+            return;
+        }
+        entries.put(key, new Cached(page, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Drops every entry whose filters the candidate matched before or matches after the
+     * change; other cached pages cannot contain the candidate and are kept.
+     */
+    public synchronized void invalidate(CandidateFilterIndex.Change change) {
+        generation++;
+        Iterator<Key> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            CandidateSearchCriteria criteria = it.next().criteria();
+            if ((change.previous() != null && change.previous().matches(criteria))
+                    || change.current().matches(criteria)) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Same as invalidate() for a batch of changes, in one pass over the cache.
+     */
+    public synchronized void invalidateAll(List<CandidateFilterIndex.Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        generation++;
+        Iterator<Key> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            CandidateSearchCriteria criteria = it.next().criteria();
+            for (CandidateFilterIndex.Change change : changes) {
+                if ((change.previous() != null && change.previous().matches(criteria))
+                        || change.current().matches(criteria)) {
+                    it.remove();
+                    invalidations++;
+                    break;
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations);
+        long lookups = hits + misses;
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return stats;
+    }
+}
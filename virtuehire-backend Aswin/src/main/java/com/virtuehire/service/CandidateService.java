@@ -1,32 +1,94 @@
 package com.virtuehire.service;
 
+import com.virtuehire.dto.CandidateAdminRow;
+import com.virtuehire.dto.CandidateCursor;
+import com.virtuehire.dto.CandidateFacets;
+import com.virtuehire.dto.CandidatePage;
+import com.virtuehire.dto.CandidateSearchCriteria;
+import com.virtuehire.dto.CandidateSortKey;
+import com.virtuehire.dto.CandidateSummary;
+import com.virtuehire.dto.CandidateTextPage;
+import com.virtuehire.dto.PendingCandidateRow;
 import com.virtuehire.model.Candidate;
 import com.virtuehire.repository.AssessmentResultRepository;
 import com.virtuehire.repository.CandidateRepository;
+import com.virtuehire.repository.CandidateSpecifications;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class CandidateService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int TOP_SKILL_FACETS = 10;
+    // Relevance pages are re-ranked from the top each time, so deep paging is capped
+    private static final int MAX_TEXT_RESULT_WINDOW = 1000;
+
     private final CandidateRepository repo;
     private final AssessmentResultRepository assessmentResultRepo;
+    private final CandidateFilterIndex filterIndex;
+    private final CandidateSearchCache searchCache;
+    private final CandidateTextIndex textIndex;
+    private final SkillSketchService skillSketch;
+
+    // Searches currently being computed; identical concurrent searches wait on the same future
+    private final ConcurrentMap<CandidateSearchCache.Key, CompletableFuture<CandidatePage<?>>> inFlight =
+            new ConcurrentHashMap<>();
 
 
-    public CandidateService(CandidateRepository repo, AssessmentResultRepository assessmentResultRepo) {
+    public CandidateService(CandidateRepository repo, AssessmentResultRepository assessmentResultRepo,
+                            CandidateFilterIndex filterIndex, CandidateSearchCache searchCache,
+                            CandidateTextIndex textIndex, SkillSketchService skillSketch) {
         this.repo = repo;
         this.assessmentResultRepo = assessmentResultRepo;
+        this.filterIndex = filterIndex;
+        this.searchCache = searchCache;
+        this.textIndex = textIndex;
+        this.skillSketch = skillSketch;
     }
 
     public Optional<Candidate> findByEmail(String email) {
         return repo.findByEmail(email);
     }
 
-    // Save candidate
+    // Save candidate, keep indexes and the skill sketch in step and drop cached searches it may appear in
     public Candidate save(Candidate c) {
-        return repo.save(c);
+        Candidate saved = repo.save(c);
+        searchCache.invalidate(filterIndex.update(saved));
+        textIndex.update(saved);
+        skillSketch.add(saved.getSkills());
+        return saved;
+    }
+
+    // Index and cache upkeep for candidates another service has written without changing skills
+    public void reindex(Collection<Candidate> saved) {
+        if (saved.isEmpty()) {
+            return;
+        }
+        List<CandidateFilterIndex.Change> changes = new ArrayList<>(saved.size());
+        for (Candidate candidate : saved) {
+            changes.add(filterIndex.update(candidate));
+            textIndex.update(candidate);
+        }
+        searchCache.invalidateAll(changes);
+    }
+
+    public Map<String, Object> recountUniqueSkills() {
+        return skillSketch.recountExact();
     }
 
     // Get all candidates
@@ -47,152 +109,191 @@ public class CandidateService {
         return null;
     }
 
-    // Get filtered candidates for HR dashboard
-    public List<Candidate> getFilteredCandidates(String language, Integer minScore, Integer maxScore,
-                                                 String experienceLevel, String sortBy, String sortDirection) {
-        List<Candidate> allCandidates = repo.findAll();
-
-        return allCandidates.stream()
-                .filter(candidate -> language == null || language.trim().isEmpty() ||
-                        (candidate.getSkills() != null &&
-                                candidate.getSkills().toLowerCase().contains(language.toLowerCase())))
-                .filter(candidate -> minScore == null ||
-                        (candidate.getScore() != null &&
-                                candidate.getScore() >= minScore))
-                .filter(candidate -> maxScore == null ||
-                        (candidate.getScore() != null &&
-                                candidate.getScore() <= maxScore))
-                .filter(candidate -> experienceLevel == null || experienceLevel.trim().isEmpty() ||
-                        (candidate.getExperienceLevel() != null &&
-                                candidate.getExperienceLevel().equalsIgnoreCase(experienceLevel)))
-                .collect(Collectors.toList());
+    // Pending approvals a page at a time, only the columns the verification list shows
+    public Page<PendingCandidateRow> findPendingRows(Pageable pageable) {
+        return repo.findByApproved(false, pageable);
     }
 
-    // Get candidate score from assessment results
-    private Integer getCandidateScore(Candidate candidate) {
-        // You might want to get the latest assessment score
-        // For now, using experience as a placeholder for score
-        return candidate.getScore(); // Replace with actual score logic
+    // Latest registrations as admin table rows, newest first
+    public List<CandidateAdminRow> findRecentAdminRows(int limit) {
+        return repo.findAllByOrderByIdDesc(PageRequest.of(0, limit));
     }
 
-    // Find candidates by approval status
-    public List<Candidate> findByApprovedFalse() {
-        return repo.findAll().stream()
-                .filter(c -> !c.getApproved())
-                .collect(Collectors.toList());
+    private static String normalizeSortField(String sortBy) {
+        if (sortBy == null) {
+            return "score";
+        }
+        String field = sortBy.toLowerCase();
+        return field.equals("experience") || field.equals("name") ? field : "score";
     }
 
-    public List<Candidate> findByApprovedTrue() {
-        return repo.findAll().stream()
-                .filter(c -> c.getApproved())
-                .collect(Collectors.toList());
+    // Get candidate by ID
+    public Optional<Candidate> findById(Long id) {
+        return repo.findById(id);
     }
 
-    // Create comparator for sorting
-    private Comparator<Candidate> createCandidateComparator(String sortBy, String sortDirection) {
-        String sortField = sortBy != null ? sortBy : "experience";
-        String direction = sortDirection != null ? sortDirection : "DESC";
-
-        Comparator<Candidate> comparator;
-        switch (sortField.toLowerCase()) {
-            case "score":
-                comparator = Comparator.comparing(this::getCandidateScore,
-                        Comparator.nullsLast(Comparator.naturalOrder()));
-                break;
-            case "experience":
-                comparator = Comparator.comparing(Candidate::getExperience,
-                        Comparator.nullsLast(Comparator.naturalOrder()));
-                break;
-            case "name":
-                comparator = Comparator.comparing(Candidate::getFullName,
-                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-                break;
-            default:
-                comparator = Comparator.comparing(this::getCandidateScore,
-                        Comparator.nullsLast(Comparator.naturalOrder()));
+    /**
+     * Simplified search with 3 filters only, also used by the admin listing with an approval filter.
+     * Filters are resolved on the bitmap index and only the requested page is loaded, in one
+     * batched fetch. Score order is read straight off the index; experience and name order keep
+     * the best rows of the index's sort keys in a bounded heap, so memory stays O(page size)
+     * however many rows match.
+     * The sort field and direction are honoured on both paths.
+     * Pages are cached by their normalized filters until a matching candidate is saved, and
+     * identical searches arriving together share one computation. Facet counts come from the
+     * same match bitmap, so they cost no extra query.
+     */
+    public <T extends CandidateSortKey> CandidatePage<T> searchCandidates(CandidateSearchCriteria criteria,
+                                                                          String sortBy, String sortDirection,
+                                                                          String cursor, int size, Class<T> rowType) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        CandidateCursor after = CandidateCursor.parse(cursor);
+
+        CandidateSearchCriteria normalized = criteria.normalized();
+        String sortField = normalizeSortField(sortBy);
+        boolean descending = !"ASC".equalsIgnoreCase(sortDirection);
+        CandidateSearchCache.Key key = new CandidateSearchCache.Key(normalized, sortField,
+                descending, after == null ? null : after.encode(), pageSize, rowType);
+
+        if (!filterIndex.isReady()) {
+            return coalesce(key, () -> searchWithSql(normalized, sortField, descending, after, pageSize, rowType));
         }
 
-        return "DESC".equalsIgnoreCase(direction) ? comparator.reversed() : comparator;
+        CandidatePage<T> cached = searchCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        return coalesce(key, () -> {
+            long generation = searchCache.generation();
+            CandidatePage<T> result = searchWithIndex(normalized, sortField, descending, after, pageSize, rowType);
+            searchCache.put(key, result, generation);
+            return result;
+        });
     }
 
-    // Get candidate by ID
-    public Optional<Candidate> findById(Long id) {
-        return repo.findById(id);
+    /**
+     * Single flight: the first caller for a key runs the search, callers arriving while it
+     * runs wait for and share its result (or its exception). The key is released as soon
+     * as the search finishes, so later callers go through the cache again.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends CandidateSortKey> CandidatePage<T> coalesce(CandidateSearchCache.Key key,
+                                                                   Supplier<CandidatePage<T>> search) {
+        CompletableFuture<CandidatePage<?>> mine = new CompletableFuture<>();
+        CompletableFuture<CandidatePage<?>> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            try {
+                return (CandidatePage<T>) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            CandidatePage<T> result = search.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private <T extends CandidateSortKey> CandidatePage<T> searchWithIndex(CandidateSearchCriteria criteria,
+                                                                          String sortField, boolean descending,
+                                                                          CandidateCursor after, int pageSize,
+                                                                          Class<T> rowType) {
+        RoaringBitmap matches = filterIndex.match(criteria);
+        CandidateFilterIndex.Hits hits = "score".equals(sortField)
+                ? filterIndex.pageByScore(matches, after, pageSize, descending)
+                : filterIndex.pageBySortKey(matches, sortField, after, pageSize, descending);
+        List<Long> ids = hits.ids();
+        boolean hasMore = hits.hasMore();
+
+        List<T> page = findAllInOrder(ids, rowType);
+        String nextCursor = hasMore && !page.isEmpty() ? CandidateCursor.of(page.get(page.size() - 1)).encode() : null;
+        CandidateFacets facets = filterIndex.facets(matches, TOP_SKILL_FACETS);
+        return new CandidatePage<>(page, nextCursor, matches.getLongCardinality(), facets);
+    }
+
+    // Used until the filter index has been built at startup
+    private <T extends CandidateSortKey> CandidatePage<T> searchWithSql(CandidateSearchCriteria criteria,
+                                                                        String sortField, boolean descending,
+                                                                        CandidateCursor after, int pageSize,
+                                                                        Class<T> rowType) {
+        Specification<Candidate> filters = sqlFilters(criteria);
+
+        // Fetch one extra id to find out whether another page exists
+        List<Long> ids = repo.findTopIds(filters.and(CandidateSpecifications.after(after, sortField, descending)),
+                searchOrder(sortField, descending), pageSize + 1);
+        long total = repo.count(filters);
+        boolean hasMore = ids.size() > pageSize;
+
+        List<T> page = findAllInOrder(hasMore ? ids.subList(0, pageSize) : ids, rowType);
+        String nextCursor = hasMore && !page.isEmpty() ? CandidateCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new CandidatePage<>(page, nextCursor, total, null);
+    }
+
+    private static Specification<Candidate> sqlFilters(CandidateSearchCriteria criteria) {
+        return Specification.where(CandidateSpecifications.skillsContainAny(criteria.skills()))
+                .and(CandidateSpecifications.experienceBucket(criteria.experienceLevel()))
+                .and(CandidateSpecifications.minScoreOrUnscored(criteria.minScore()))
+                .and(CandidateSpecifications.approvedEquals(criteria.approved()));
+    }
+
+    // The sort column with blanks last in either direction, then id in the same direction
+    private static Sort searchOrder(String sortField, boolean descending) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String property = switch (sortField) {
+            case "experience" -> "experience";
+            case "name" -> "fullName";
+            default -> "score";
+        };
+        return Sort.by(new Sort.Order(direction, property).nullsLast(), new Sort.Order(direction, "id"));
     }
 
     /**
-     * Simplified search with 3 filters only
+     * Relevance-ranked search over approved candidates' profiles and resume text.
      */
-    public List<Candidate> searchCandidates(String skills, String experienceLevel, Integer minScore) {
-        List<Candidate> allCandidates = repo.findAll();
-
-        return allCandidates.stream()
-                .filter(candidate -> {
-                    // Filter by skills
-                    if (skills != null && !skills.trim().isEmpty()) {
-                        String candidateSkills = candidate.getSkills() != null ?
-                                candidate.getSkills().toLowerCase() : "";
-                        String searchSkills = skills.toLowerCase();
-
-                        String[] keywords = searchSkills.split(",");
-                        boolean skillMatch = false;
-                        for (String keyword : keywords) {
-                            if (candidateSkills.contains(keyword.trim())) {
-                                skillMatch = true;
-                                break;
-                            }
-                        }
-                        if (!skillMatch) {
-                            return false;
-                        }
-                    }
-
-                    // Filter by experience level
-                    if (experienceLevel != null && !experienceLevel.equals("All")) {
-                        Integer exp = candidate.getExperience() != null ? candidate.getExperience() : 0;
-
-                        if (experienceLevel.equals("Fresher")) {
-                            if (exp > 1) {
-                                return false;
-                            }
-                        } else if (experienceLevel.equals("Experienced")) {
-                            if (exp < 2) {
-                                return false;
-                            }
-                        }
-                    }
-
-                    // Filter by minimum score - USE getScore()
-                    if (minScore != null && candidate.getScore() != null) {
-                        if (candidate.getScore() < minScore) {
-                            return false;
-                        }
-                    }
-
-                    return true;
-                })
-                .collect(Collectors.toList());
+    public CandidateTextPage fullTextSearch(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, Math.min(page, MAX_TEXT_RESULT_WINDOW / pageSize - 1));
+        if (query == null || query.isBlank()) {
+            return new CandidateTextPage(new ArrayList<>(), 0, 0, pageSize);
+        }
+
+        CandidateTextIndex.Result result = textIndex.search(query, true, pageNumber, pageSize);
+        long reachable = Math.min(result.totalHits(), MAX_TEXT_RESULT_WINDOW);
+        return new CandidateTextPage(findAllInOrder(result.ids(), CandidateSummary.class), reachable, pageNumber, pageSize);
     }
 
+    // One IN query for the whole page, returned in the order the ids were given
+    private <T extends CandidateSortKey> List<T> findAllInOrder(List<Long> ids, Class<T> rowType) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, T> byId = repo.findByIdIn(ids, rowType).stream()
+                .collect(Collectors.toMap(CandidateSortKey::getId, row -> row));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
+    public Map<String, Object> getSearchCacheStats() {
+        return searchCache.getStats();
+    }
 
     // Get dashboard statistics
     public Map<String, Object> getDashboardStats() {
-        List<Candidate> allCandidates = repo.findAll();
-
-        long totalCandidates = allCandidates.size();
-        long experiencedCandidates = allCandidates.stream()
-                .filter(c -> c.getExperience() != null && c.getExperience() > 0)
-                .count();
-
-        // Calculate unique skills count
-        long uniqueSkills = allCandidates.stream()
-                .filter(c -> c.getSkills() != null && !c.getSkills().isEmpty())
-                .map(c -> c.getSkills().split(","))
-                .flatMap(Arrays::stream)
-                .map(String::trim)
-                .distinct()
-                .count();
+        long totalCandidates = repo.count();
+        long experiencedCandidates = repo.countByExperienceGreaterThan(0);
+
+        // Estimated from the skill sketch, within about 1%
+        long uniqueSkills = skillSketch.estimateUniqueSkills();
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalCandidates", totalCandidates);
@@ -0,0 +1,317 @@
+package com.virtuehire.service;
+
+import com.virtuehire.model.Candidate;
+import com.virtuehire.repository.CandidateRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Embedded Lucene index over candidate profiles (name, skills, education, college,
+ * city/state) and the text of their uploaded resumes, kept on disk next to the app.
+ *
+ * Every candidate save re-indexes the candidate's document unless none of the indexed
+ * fields changed and refreshes the near-real-time searcher, so registrations and
+ * approvals are searchable as soon as the request returns. Saves do not commit: the
+ * writer commits on a schedule and on shutdown, so no save waits for a disk sync. A
+ * commit made after startup records that the index was not closed cleanly, and the
+ * next start rebuilds unless shutdown committed and cleared that mark. The approved
+ * flag is a doc value, so bulk approvals can flip it in place without re-reading resumes.
+ */
+@Component
+public class CandidateTextIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateTextIndex.class);
+
+    private static final String ID = "id";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String APPROVED = "approvedFlag";
+    private static final String RESUME = "resume";
+    private static final int REBUILD_BATCH_SIZE = 500;
+    // Bumped when the document layout changes; an index written in another format is rebuilt
+    private static final String FORMAT_KEY = "format";
+    private static final String FORMAT = "2";
+    // "true" only in the commit made by close(); changes after the last scheduled commit are lost otherwise
+    private static final String CLEAN_KEY = "closedCleanly";
+
+    // Name and skill hits rank above a passing mention in the resume
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            "fullName", 3.0f,
+            "skills", 2.5f,
+            "highestEducation", 1.2f,
+            "collegeUniversity", 1.2f,
+            "location", 1.0f,
+            RESUME, 1.0f);
+
+    private final CandidateRepository candidateRepository;
+    private final ResumeTextExtractor resumeTextExtractor;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final boolean currentFormat;
+    private final boolean closedCleanly;
+
+    /**
+     * Ids of one page of hits, best match first, and the total number of hits.
+     */
+    public record Result(List<Long> ids, long totalHits) {}
+
+    public CandidateTextIndex(CandidateRepository candidateRepository, ResumeTextExtractor resumeTextExtractor,
+                              @Value("${search.fulltext.index-dir}") String indexDir) throws IOException {
+        this.candidateRepository = candidateRepository;
+        this.resumeTextExtractor = resumeTextExtractor;
+        this.directory = FSDirectory.open(Paths.get(indexDir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.currentFormat = FORMAT.equals(commitValue(writer.getLiveCommitData(), FORMAT_KEY));
+        this.closedCleanly = "true".equals(commitValue(writer.getLiveCommitData(), CLEAN_KEY));
+        // Committed right away, so a crash before the first scheduled commit is still seen as unclean
+        writer.setLiveCommitData(Map.of(FORMAT_KEY, FORMAT, CLEAN_KEY, "false").entrySet());
+        writer.commit();
+    }
+
+    // Rebuild when the index may be behind the database: first start, another format, or no clean shutdown
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        long candidates = candidateRepository.count();
+        if (currentFormat && closedCleanly && writer.getDocStats().numDocs == candidates) {
+            return;
+        }
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            writer.deleteAll();
+            Page<Candidate> page;
+            int pageNumber = 0;
+            do {
+                page = candidateRepository.findAll(PageRequest.of(pageNumber++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                for (Candidate candidate : page) {
+                    writer.addDocument(toDocument(candidate));
+                }
+            } while (page.hasNext());
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rebuild the candidate text index", e);
+        }
+        log.info("Candidate text index built: {} documents in {} ms",
+                writer.getDocStats().numDocs, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Re-indexes one candidate after it was saved. A failure is logged rather than
+     * thrown, the database write has already happened; the next start rebuilds.
+     */
+    public void update(Candidate candidate) {
+        try {
+            String fingerprint = fingerprint(candidate);
+            if (fingerprint.equals(indexedFingerprint(candidate.getId()))) {
+                return;
+            }
+            writer.updateDocument(new Term(ID, String.valueOf(candidate.getId())), toDocument(candidate));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not update candidate {} in the text index: {}", candidate.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Indexes a batch of newly inserted candidates with a single refresh.
+     */
+    public void addAll(List<Candidate> candidates) {
+        try {
+            for (Candidate candidate : candidates) {
+                writer.updateDocument(new Term(ID, String.valueOf(candidate.getId())), toDocument(candidate));
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not add {} candidates to the text index: {}", candidates.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the approved flag of candidates changed by a bulk UPDATE. Only the doc value
+     * moves; their stored fingerprint still has the old flag, so the next save of one of
+     * them re-indexes it in full once. Failures are logged, like update().
+     */
+    public void setApproved(Collection<Long> ids, boolean approved) {
+        try {
+            for (Long id : ids) {
+                writer.updateNumericDocValue(new Term(ID, String.valueOf(id)), APPROVED, approved ? 1 : 0);
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not update the approved flag of {} candidates in the text index: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * One page of candidates ranked by relevance. The query accepts Lucene syntax
+     * (quotes, AND/OR, wildcards) and falls back to plain terms when it doesn't parse.
+     */
+    public Result search(String queryText, boolean approvedOnly, int page, int size) {
+        Query query = parse(queryText);
+        if (approvedOnly) {
+            query = new BooleanQuery.Builder()
+                    .add(query, BooleanClause.Occur.MUST)
+                    .add(NumericDocValuesField.newSlowExactQuery(APPROVED, 1), BooleanClause.Occur.FILTER)
+                    .build();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int from = page * size;
+                TopDocs top = searcher.search(query, from + size);
+                List<Long> ids = new ArrayList<>(size);
+                for (int i = from; i < top.scoreDocs.length; i++) {
+                    ScoreDoc hit = top.scoreDocs[i];
+                    ids.add(Long.valueOf(searcher.storedFields().document(hit.doc).get(ID)));
+                }
+                return new Result(ids, top.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Candidate text search failed", e);
+        }
+    }
+
+    // Makes the changes since the last commit durable; a failure is retried with the next run
+    @Scheduled(fixedDelayString = "${search.fulltext.commit-interval-ms:5000}")
+    public void commit() {
+        if (!writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not commit the candidate text index: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.setLiveCommitData(Map.of(FORMAT_KEY, FORMAT, CLEAN_KEY, "true").entrySet());
+        writer.commit();
+        writer.close();
+        directory.close();
+    }
+
+    private Query parse(String queryText) {
+        String[] fields = FIELD_BOOSTS.keySet().toArray(new String[0]);
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(fields, analyzer, FIELD_BOOSTS);
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(queryText));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Invalid search query: " + queryText, escaped);
+            }
+        }
+    }
+
+    private String indexedFingerprint(Long id) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(new TermQuery(new Term(ID, String.valueOf(id))), 1);
+            if (top.scoreDocs.length == 0) {
+                return null;
+            }
+            return searcher.storedFields().document(top.scoreDocs[0].doc).get(FINGERPRINT);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Document toDocument(Candidate candidate) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, String.valueOf(candidate.getId()), Field.Store.YES));
+        doc.add(new StringField(FINGERPRINT, fingerprint(candidate), Field.Store.YES));
+        doc.add(new NumericDocValuesField(APPROVED, Boolean.TRUE.equals(candidate.getApproved()) ? 1 : 0));
+        addText(doc, "fullName", candidate.getFullName());
+        addText(doc, "skills", candidate.getSkills());
+        addText(doc, "highestEducation", candidate.getHighestEducation());
+        addText(doc, "collegeUniversity", candidate.getCollegeUniversity());
+        addText(doc, "location", joinNonNull(candidate.getCity(), candidate.getState()));
+        addText(doc, RESUME, resumeTextExtractor.extract(candidate.getResumePath()));
+        return doc;
+    }
+
+    private static String commitValue(Iterable<Map.Entry<String, String>> commitData, String key) {
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (key.equals(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void addText(Document doc, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private static String joinNonNull(String first, String second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return first + " " + second;
+    }
+
+    // Changes whenever an indexed field changes; score and badge updates leave it alone
+    private static String fingerprint(Candidate candidate) {
+        return Integer.toHexString(Objects.hash(candidate.getFullName(), candidate.getSkills(),
+                candidate.getHighestEducation(), candidate.getCollegeUniversity(), candidate.getCity(),
+                candidate.getState(), candidate.getResumePath(), candidate.getApproved()));
+    }
+}
@@ -0,0 +1,397 @@
+package com.virtuehire.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virtuehire.dto.ExamAnswer;
+import com.virtuehire.model.ExamSession;
+import com.virtuehire.model.ExamSessionStatus;
+import com.virtuehire.repository.ExamSessionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side exam sessions: which questions an attempt was served and the answers
+ * saved so far, so an attempt survives a lost browser tab or a restart and can be
+ * resumed on any instance.
+ *
+ * Autosaves only touch memory. Each attempt being worked on is held here; a save
+ * overwrites the answers it carries and marks the attempt dirty, so any number of
+ * saves between flushes cost one write. Every flush interval the dirty attempts are
+ * written with one JDBC batch of UPDATEs. An attempt left alone for the idle
+ * timeout, or submitted, is dropped from memory once written; it is loaded again
+ * from the database when next used, by whichever instance gets the request.
+ *
+ * The same attempt can be open on two instances at once, e.g. a candidate switching
+ * devices behind a load balancer. Each flush is an UPDATE conditional on the row's
+ * version. When another instance wrote the row first, the update matches nothing; the
+ * row is read back, merged answer by answer keeping the later one, and written again
+ * with the next flush. An attempt already submitted elsewhere takes the stored row as is.
+ */
+@Service
+public class ExamSessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExamSessionService.class);
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final int MAX_ANSWER_LENGTH = 1000;
+    private static final TypeReference<Map<String, ExamAnswer>> ANSWERS = new TypeReference<>() {};
+
+    /**
+     * An attempt as the exam page needs it: questions in the order served and the
+     * saved answers by "q{id}".
+     */
+    public record Attempt(String attemptId, int level, List<Long> questionIds, Map<String, ExamAnswer> answers,
+                          ExamSessionStatus status, LocalDateTime startedAt) {
+
+        // "q{id}" -> chosen option, for pre-filling the form
+        public Map<String, String> answerValues() {
+            Map<String, String> values = new HashMap<>();
+            answers.forEach((key, answer) -> values.put(key, answer.answer()));
+            return values;
+        }
+    }
+
+    public static class AttemptNotFoundException extends RuntimeException {
+        public AttemptNotFoundException(String attemptId) {
+            super("No exam session " + attemptId);
+        }
+    }
+
+    public static class AttemptClosedException extends RuntimeException {
+        public AttemptClosedException(String attemptId) {
+            super("Exam session " + attemptId + " has already been submitted");
+        }
+    }
+
+    // An attempt held in memory; fields after the final ones are guarded by its monitor
+    private static final class Open {
+        final String id;
+        final long candidateId;
+        final int level;
+        final List<Long> questionIds;
+        final Set<String> questionKeys;
+        final LocalDateTime startedAt;
+        final Map<String, ExamAnswer> answers;
+        ExamSessionStatus status;
+        LocalDateTime updatedAt;
+        LocalDateTime submittedAt;
+        long version; // of the row this copy was last loaded from or written as
+        long lastUsed = System.currentTimeMillis();
+        boolean dirty;
+        boolean evicted;
+
+        Open(ExamSession session, List<Long> questionIds, Map<String, ExamAnswer> answers) {
+            this.id = session.getId();
+            this.candidateId = session.getCandidateId();
+            this.level = session.getLevel();
+            this.questionIds = List.copyOf(questionIds);
+            this.questionKeys = questionIds.stream().map(id -> "q" + id).collect(Collectors.toUnmodifiableSet());
+            this.startedAt = session.getStartedAt();
+            this.answers = new HashMap<>(answers);
+            this.status = session.getStatus();
+            this.updatedAt = session.getUpdatedAt();
+            this.submittedAt = session.getSubmittedAt();
+            this.version = session.getVersion();
+        }
+
+        synchronized Attempt toAttempt() {
+            return new Attempt(id, level, questionIds, Map.copyOf(answers), status, startedAt);
+        }
+    }
+
+    private final ExamSessionRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final long idleTimeoutMs;
+
+    private final Map<String, Open> open = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public ExamSessionService(ExamSessionRepository repository, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                              @Value("${exam.sessions.idle-timeout-ms:600000}") long idleTimeoutMs) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    // ===== Attempts =====
+
+    /**
+     * The candidate's attempt at this level: the existing one if there is any, so a
+     * reload or another device resumes it, else a new one serving these questions.
+     */
+    public Attempt start(long candidateId, int level, List<Long> questionIds) {
+        Optional<ExamSession> existing = repository.findByCandidateIdAndLevel(candidateId, level);
+        if (existing.isPresent()) {
+            forgetIfClean(existing.get().getId());
+            return openFor(existing.get().getId(), candidateId).toAttempt();
+        }
+        ExamSession session = new ExamSession(UUID.randomUUID().toString(), candidateId, level,
+                questionIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        try {
+            repository.save(session);
+        } catch (DataIntegrityViolationException e) {
+            // Started at the same moment from another tab or instance; use that one
+            ExamSession winner = repository.findByCandidateIdAndLevel(candidateId, level).orElseThrow(() -> e);
+            return openFor(winner.getId(), candidateId).toAttempt();
+        }
+        Open created = new Open(session, questionIds, Map.of());
+        Open raced = open.putIfAbsent(created.id, created);
+        return (raced != null ? raced : created).toAttempt();
+    }
+
+    public Attempt get(String attemptId, long candidateId) {
+        return openFor(attemptId, candidateId).toAttempt();
+    }
+
+    /**
+     * Saves answers ("q{id}" -> chosen option) into the attempt in memory. Fields that
+     * are not questions of this attempt are ignored. Returns how many were saved.
+     */
+    public int autosave(String attemptId, long candidateId, Map<String, String> answers) {
+        long now = System.currentTimeMillis();
+        while (true) {
+            Open attempt = openFor(attemptId, candidateId);
+            synchronized (attempt) {
+                if (attempt.evicted) {
+                    continue; // Dropped from memory between lookup and lock; load it again
+                }
+                if (attempt.status != ExamSessionStatus.ACTIVE) {
+                    throw new AttemptClosedException(attemptId);
+                }
+                int saved = apply(attempt, answers, now);
+                attempt.lastUsed = now;
+                if (saved > 0) {
+                    markDirty(attempt, now);
+                }
+                return saved;
+            }
+        }
+    }
+
+    /**
+     * Closes the attempt with its final answers once the submission was accepted.
+     * Written with the next flush.
+     */
+    public void submitted(String attemptId, long candidateId, Map<String, String> finalAnswers) {
+        long now = System.currentTimeMillis();
+        while (true) {
+            Open attempt = openFor(attemptId, candidateId);
+            synchronized (attempt) {
+                if (attempt.evicted) {
+                    continue;
+                }
+                if (attempt.status == ExamSessionStatus.SUBMITTED) {
+                    return;
+                }
+                apply(attempt, finalAnswers, now);
+                attempt.status = ExamSessionStatus.SUBMITTED;
+                attempt.submittedAt = LocalDateTime.now();
+                markDirty(attempt, now);
+                return;
+            }
+        }
+    }
+
+    // ===== Flushing =====
+
+    /**
+     * Writes every dirty attempt in batched UPDATEs, then drops written attempts that
+     * are submitted or idle. A batch that fails is marked dirty again for the next run;
+     * an attempt whose row was written elsewhere is merged with it and marked dirty.
+     */
+    @Scheduled(fixedDelayString = "${exam.sessions.flush-interval-ms:1000}")
+    public void flush() {
+        List<Open> written = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (String id : List.copyOf(dirty)) {
+            dirty.remove(id);
+            Open attempt = open.get(id);
+            if (attempt == null) continue;
+            synchronized (attempt) {
+                if (!attempt.dirty) continue;
+                attempt.dirty = false;
+                rows.add(new Object[]{toJson(attempt.answers), attempt.status.name(), attempt.updatedAt,
+                        attempt.submittedAt, attempt.id, attempt.version});
+            }
+            written.add(attempt);
+            if (rows.size() == FLUSH_BATCH_SIZE) {
+                write(rows, written);
+            }
+        }
+        if (!rows.isEmpty()) {
+            write(rows, written);
+        }
+        evict();
+    }
+
+    private void write(List<Object[]> rows, List<Open> attempts) {
+        try {
+            int[] counts = jdbcTemplate.batchUpdate("UPDATE exam_sessions SET answers = ?, status = ?, "
+                    + "updated_at = ?, submitted_at = ?, version = version + 1 WHERE id = ? AND version = ?", rows);
+            for (int i = 0; i < counts.length; i++) {
+                Open attempt = attempts.get(i);
+                long written = (Long) rows.get(i)[5];
+                if (counts[i] == 0) {
+                    merge(attempt);
+                } else {
+                    // Statement.SUCCESS_NO_INFO (-2) from a rewritten batch also means it ran
+                    synchronized (attempt) {
+                        attempt.version = written + 1;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Writing {} exam sessions failed, retrying with the next flush: {}", rows.size(), e.getMessage());
+            long now = System.currentTimeMillis();
+            for (Open attempt : attempts) {
+                synchronized (attempt) {
+                    markDirty(attempt, now);
+                }
+            }
+        }
+        rows.clear();
+        attempts.clear();
+    }
+
+    // The row moved on since this copy was loaded; fold it into the copy so the next flush writes both
+    private void merge(Open attempt) {
+        Optional<ExamSession> stored = repository.findById(attempt.id);
+        synchronized (attempt) {
+            if (stored.isEmpty()) {
+                log.warn("Exam session {} no longer exists, dropping it", attempt.id);
+                attempt.dirty = false;
+                attempt.evicted = true;
+                open.remove(attempt.id, attempt);
+                return;
+            }
+            ExamSession row = stored.get();
+            Map<String, ExamAnswer> rowAnswers = fromJson(row.getAnswers());
+            attempt.version = row.getVersion();
+            if (row.getStatus() == ExamSessionStatus.SUBMITTED) {
+                attempt.answers.clear();
+                attempt.answers.putAll(rowAnswers);
+                attempt.status = row.getStatus();
+                attempt.submittedAt = row.getSubmittedAt();
+                attempt.updatedAt = row.getUpdatedAt();
+                attempt.dirty = false;
+                return;
+            }
+            rowAnswers.forEach((key, theirs) -> attempt.answers.merge(key, theirs,
+                    (ours, other) -> other.answeredAt() > ours.answeredAt() ? other : ours));
+            markDirty(attempt, attempt.lastUsed);
+        }
+    }
+
+    private void evict() {
+        long idleBefore = System.currentTimeMillis() - idleTimeoutMs;
+        for (Open attempt : open.values()) {
+            synchronized (attempt) {
+                if (!attempt.dirty && (attempt.status != ExamSessionStatus.ACTIVE || attempt.lastUsed < idleBefore)) {
+                    attempt.evicted = true;
+                    open.remove(attempt.id, attempt);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // ===== Helpers =====
+
+    // The attempt from memory, else loaded from the database; only the candidate who owns it may use it
+    private Open openFor(String attemptId, long candidateId) {
+        Open attempt = open.get(attemptId);
+        if (attempt == null) {
+            ExamSession session = repository.findById(attemptId)
+                    .orElseThrow(() -> new AttemptNotFoundException(attemptId));
+            Open loaded = new Open(session, parseIds(session.getQuestionIds()), fromJson(session.getAnswers()));
+            Open raced = open.putIfAbsent(attemptId, loaded);
+            attempt = raced != null ? raced : loaded;
+        }
+        if (attempt.candidateId != candidateId) {
+            throw new AttemptNotFoundException(attemptId);
+        }
+        return attempt;
+    }
+
+    // A resumed page reloads from the database, in case the attempt was continued on another instance
+    private void forgetIfClean(String attemptId) {
+        Open attempt = open.get(attemptId);
+        if (attempt == null) return;
+        synchronized (attempt) {
+            if (!attempt.dirty) {
+                attempt.evicted = true;
+                open.remove(attemptId, attempt);
+            }
+        }
+    }
+
+    // Callers hold the attempt's monitor
+    private static int apply(Open attempt, Map<String, String> answers, long now) {
+        int saved = 0;
+        for (Map.Entry<String, String> entry : answers.entrySet()) {
+            String value = entry.getValue();
+            if (!attempt.questionKeys.contains(entry.getKey()) || value == null || value.isEmpty()
+                    || value.length() > MAX_ANSWER_LENGTH) {
+                continue;
+            }
+            ExamAnswer previous = attempt.answers.get(entry.getKey());
+            if (previous == null || !previous.answer().equals(value)) {
+                attempt.answers.put(entry.getKey(), new ExamAnswer(value, now));
+                saved++;
+            }
+        }
+        return saved;
+    }
+
+    // Callers hold the attempt's monitor
+    private void markDirty(Open attempt, long now) {
+        attempt.dirty = true;
+        attempt.updatedAt = LocalDateTime.now();
+        attempt.lastUsed = now;
+        dirty.add(attempt.id);
+    }
+
+    private String toJson(Map<String, ExamAnswer> answers) {
+        try {
+            return objectMapper.writeValueAsString(answers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize exam answers", e);
+        }
+    }
+
+    private Map<String, ExamAnswer> fromJson(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, ANSWERS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read exam answers", e);
+        }
+    }
+
+    private static List<Long> parseIds(String ids) {
+        if (ids == null || ids.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(ids.split(",")).map(Long::valueOf).toList();
+    }
+}
@@ -0,0 +1,153 @@
+package com.virtuehire.service;
+
+import com.virtuehire.repository.AssessmentResultRepository;
+import com.virtuehire.repository.CandidateRepository;
+import com.virtuehire.repository.HrRepository;
+import com.virtuehire.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CSV exports for reporting. Rows come from forward-only streaming queries that
+ * select plain columns, so neither the driver nor the persistence context holds
+ * more than the current row, and are written straight to the response; memory
+ * stays flat however large the table is.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    // Rows between flushes, so the client sees chunks while a long export runs
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    public enum ExportType {
+        CANDIDATES("candidates", List.of("id", "full_name", "email", "phone_number", "gender", "city", "state",
+                "highest_education", "college_university", "year_of_graduation", "skills", "experience",
+                "assessment_taken", "score", "badge", "approved", "rejection_reason")),
+        HRS("hrs", List.of("id", "full_name", "email", "phone_number", "company_name", "job_title",
+                "company_website", "industry", "city", "state", "plan_type", "plan_expiry_date",
+                "remaining_views", "verified")),
+        PAYMENTS("payments", List.of("id", "hr_id", "hr_email", "candidate_id", "amount", "currency", "status",
+                "plan_type", "payment_method", "payment_gateway_id", "description", "created_at", "completed_at")),
+        ASSESSMENT_RESULTS("assessment-results", List.of("id", "candidate_id", "candidate_email", "level",
+                "score", "attempted_at"));
+
+        private final String path;
+        private final List<String> columns;
+
+        ExportType(String path, List<String> columns) {
+            this.path = path;
+            this.columns = columns;
+        }
+
+        public String getPath() { return path; }
+
+        public static ExportType fromPath(String path) {
+            for (ExportType type : values()) {
+                if (type.path.equals(path.toLowerCase(Locale.ROOT))) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown export: " + path);
+        }
+    }
+
+    private final CandidateRepository candidateRepository;
+    private final HrRepository hrRepository;
+    private final PaymentRepository paymentRepository;
+    private final AssessmentResultRepository assessmentResultRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(CandidateRepository candidateRepository, HrRepository hrRepository,
+                         PaymentRepository paymentRepository, AssessmentResultRepository assessmentResultRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.candidateRepository = candidateRepository;
+        this.hrRepository = hrRepository;
+        this.paymentRepository = paymentRepository;
+        this.assessmentResultRepository = assessmentResultRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes the whole table as CSV, gzip-compressed if asked. Runs its own read-only
+     * transaction, which a streaming query needs open while it is consumed.
+     */
+    public void writeCsv(ExportType type, OutputStream out, boolean gzip) throws IOException {
+        long start = System.currentTimeMillis();
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192, true) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+
+        long rows = readOnlyTransaction.execute(status -> {
+            try (Stream<Object[]> stream = rowsOf(type)) {
+                writeLine(writer, type.columns.toArray());
+                long count = 0;
+                Iterator<Object[]> it = stream.iterator();
+                while (it.hasNext()) {
+                    writeLine(writer, it.next());
+                    if (++count % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        writer.flush();
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+        log.info("Exported {} {} rows in {} ms", rows, type.getPath(), System.currentTimeMillis() - start);
+    }
+
+    private Stream<Object[]> rowsOf(ExportType type) {
+        return switch (type) {
+            case CANDIDATES -> candidateRepository.streamExportRows();
+            case HRS -> hrRepository.streamExportRows();
+            case PAYMENTS -> paymentRepository.streamExportRows();
+            case ASSESSMENT_RESULTS -> assessmentResultRepository.streamExportRows();
+        };
+    }
+
+    private static void writeLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting; text starting with a formula character is prefixed so spreadsheets don't evaluate it
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
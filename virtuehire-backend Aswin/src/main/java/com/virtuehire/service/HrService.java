@@ -2,6 +2,8 @@ package com.virtuehire.service;
 
 import com.virtuehire.model.Hr;
 import com.virtuehire.repository.HrRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -25,6 +27,11 @@ public class HrService {
         return repo.findAll();
     }
 
+    // One page of HRs, optionally only verified (true) or unverified (false)
+    public Page<Hr> findPage(Boolean verified, Pageable pageable) {
+        return verified == null ? repo.findAll(pageable) : repo.findByVerified(verified, pageable);
+    }
+
     public Optional<Hr> findById(Long id) {
         return repo.findById(id);
     }
@@ -0,0 +1,215 @@
+package com.virtuehire.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an import upload one row at a time, as a map from normalized column name
+ * ("Full Name", "full_name" and "fullName" all become "fullname") to value. Values
+ * are strings, or lists for JSON arrays.
+ *
+ * CSV follows RFC 4180 with a header line; quoted fields may hold commas, quotes
+ * and line breaks. JSON is a top-level array of objects, read with Jackson's
+ * streaming parser so only the current object is in memory.
+ */
+abstract class ImportRowReader implements Iterator<Map<String, Object>>, AutoCloseable {
+
+    static ImportRowReader csv(InputStream in) throws IOException {
+        return new Csv(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    }
+
+    static ImportRowReader json(InputStream in, ObjectMapper objectMapper) throws IOException {
+        return new Json(objectMapper, objectMapper.getFactory().createParser(in));
+    }
+
+    static String normalizeColumn(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    private Map<String, Object> next;
+    private boolean done;
+
+    // The next row, or null at the end of the input
+    protected abstract Map<String, Object> read() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public abstract void close() throws IOException;
+
+    private static final class Csv extends ImportRowReader {
+
+        private final Reader reader;
+        private final List<String> header;
+        private int pending = -2; // one character of look-ahead; -2 means none buffered
+
+        Csv(Reader reader) throws IOException {
+            this.reader = reader;
+            List<String> columns = readRecord();
+            this.header = new ArrayList<>();
+            if (columns != null) {
+                for (String column : columns) {
+                    // A UTF-8 byte order mark would otherwise stick to the first column name
+                    header.add(normalizeColumn(column.replace("\uFEFF", "")));
+                }
+            }
+        }
+
+        @Override
+        protected Map<String, Object> read() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+                if (fields == null) return null;
+            } while (fields.size() == 1 && fields.get(0).isBlank()); // skip empty lines
+
+            Map<String, Object> row = new HashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                row.put(header.get(i), fields.get(i));
+            }
+            return row;
+        }
+
+        // One record's fields, or null at end of input
+        private List<String> readRecord() throws IOException {
+            int c = read1();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int after = read1();
+                        if (after == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = after;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        int after = read1();
+                        if (after != '\n') unread(after);
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read1();
+            }
+        }
+
+        private int read1() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private void unread(int c) {
+            pending = c;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class Json extends ImportRowReader {
+
+        private final ObjectMapper objectMapper;
+        private final JsonParser parser;
+
+        Json(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+            this.objectMapper = objectMapper;
+            this.parser = parser;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of objects");
+            }
+        }
+
+        @Override
+        protected Map<String, Object> read() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at " + parser.getCurrentLocation());
+            }
+            Map<String, Object> row = new HashMap<>();
+            Map<?, ?> object = objectMapper.readValue(parser, Map.class);
+            object.forEach((key, value) -> row.put(normalizeColumn(String.valueOf(key)), toValue(value)));
+            return row;
+        }
+
+        private static Object toValue(Object value) {
+            if (value == null) return null;
+            if (value instanceof List<?> list) {
+                return list.stream().map(item -> item == null ? null : item.toString()).toList();
+            }
+            return value.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.virtuehire.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virtuehire.dto.ImportReport;
+import com.virtuehire.model.Candidate;
+import com.virtuehire.model.Question;
+import com.virtuehire.repository.CandidateRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of questions and pre-registered candidates from CSV or JSON uploads.
+ *
+ * The upload is parsed as a stream; each row is validated on its own and valid rows
+ * are inserted in batches of BATCH_SIZE, one transaction per batch. Ids come from
+ * pooled generators and hibernate.jdbc.batch_size groups the inserts, so a batch is
+ * a handful of multi-row INSERTs. A row that fails validation is reported and
+ * skipped; a batch that fails to insert is reported row by row and the import goes on.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_QUESTION_TEXT = 1000;
+
+    public enum Format {
+        CSV, JSON;
+
+        // Explicit format, else from the file extension, else CSV
+        public static Format of(String requested, String fileName) {
+            if (requested != null && !requested.isBlank()) {
+                return valueOf(requested.trim().toUpperCase(Locale.ROOT));
+            }
+            return fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    // A validated row waiting in the current batch
+    private record Parsed<T>(long row, T entity) {}
+
+    // Turns one row into an entity or throws RowException with the reason
+    private interface RowParser<T> {
+        T parse(Map<String, Object> row);
+    }
+
+    // Inserts one batch, reporting rows it had to skip; returns how many were inserted
+    private interface BatchWriter<T> {
+        int write(List<Parsed<T>> batch, Report report);
+    }
+
+    private static class RowException extends RuntimeException {
+        RowException(String message) {
+            super(message);
+        }
+    }
+
+    // Running totals and errors of one import
+    private static class Report {
+        long rows;
+        long imported;
+        long failed;
+        final List<ImportReport.RowError> errors = new ArrayList<>();
+        boolean errorsTruncated;
+
+        void error(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(row, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CandidateRepository candidateRepository;
+    private final CandidateFilterIndex filterIndex;
+    private final CandidateSearchCache searchCache;
+    private final CandidateTextIndex textIndex;
+    private final SkillSketchService skillSketch;
+    private final QuestionBank questionBank;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ImportService(CandidateRepository candidateRepository, CandidateFilterIndex filterIndex,
+                         CandidateSearchCache searchCache, CandidateTextIndex textIndex,
+                         SkillSketchService skillSketch, QuestionBank questionBank,
+                         Validator validator, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.candidateRepository = candidateRepository;
+        this.filterIndex = filterIndex;
+        this.searchCache = searchCache;
+        this.textIndex = textIndex;
+        this.skillSketch = skillSketch;
+        this.questionBank = questionBank;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ===== Questions =====
+
+    /**
+     * Columns: subject, level (1-3), text, options, correctAnswer. In CSV the options
+     * are separated by "|"; in JSON they may also be an array.
+     */
+    public ImportReport importQuestions(InputStream in, Format format) throws IOException {
+        return importRows("questions", in, format, this::parseQuestion, this::insertQuestions);
+    }
+
+    private Question parseQuestion(Map<String, Object> row) {
+        String subject = required(row, "subject");
+        int level = integer(row, "level", true);
+        if (level < 1 || level > 3) {
+            throw new RowException("level must be 1, 2 or 3");
+        }
+        String text = required(row, "text");
+        if (text.length() > MAX_QUESTION_TEXT) {
+            throw new RowException("text is longer than " + MAX_QUESTION_TEXT + " characters");
+        }
+        List<String> options = options(row.get("options"));
+        if (options.size() < 2) {
+            throw new RowException("at least two options are required");
+        }
+        String correctAnswer = required(row, "correctanswer");
+        if (!options.contains(correctAnswer)) {
+            throw new RowException("correctAnswer is not one of the options");
+        }
+        return new Question(subject, level, text, options, correctAnswer);
+    }
+
+    private int insertQuestions(List<Parsed<Question>> batch, Report report) {
+        int inserted = persist(batch, report);
+        if (inserted > 0) {
+            questionBank.putAll(batch.stream().map(Parsed::entity).toList());
+        }
+        return inserted;
+    }
+
+    // ===== Candidates =====
+
+    /**
+     * Columns: fullName, email, phoneNumber, password, and optionally gender, city,
+     * state, highestEducation, collegeUniversity, yearOfGraduation, skills,
+     * experience and approved. Emails already registered, or repeated in the file,
+     * are rejected.
+     */
+    public ImportReport importCandidates(InputStream in, Format format) throws IOException {
+        Set<String> seenEmails = new HashSet<>();
+        return importRows("candidates", in, format, row -> {
+            Candidate candidate = parseCandidate(row);
+            if (!seenEmails.add(candidate.getEmail())) {
+                throw new RowException("email " + candidate.getEmail() + " appears earlier in the file");
+            }
+            return candidate;
+        }, this::insertCandidates);
+    }
+
+    private Candidate parseCandidate(Map<String, Object> row) {
+        Candidate candidate = new Candidate();
+        candidate.setFullName(text(row, "fullname"));
+        String email = text(row, "email");
+        candidate.setEmail(email == null ? null : email.toLowerCase(Locale.ROOT));
+        candidate.setPhoneNumber(text(row, "phonenumber"));
+        candidate.setPassword(text(row, "password"));
+        candidate.setGender(text(row, "gender"));
+        candidate.setCity(text(row, "city"));
+        candidate.setState(text(row, "state"));
+        candidate.setHighestEducation(text(row, "highesteducation"));
+        candidate.setCollegeUniversity(text(row, "collegeuniversity"));
+        candidate.setSkills(text(row, "skills"));
+        candidate.setYearOfGraduation(integer(row, "yearofgraduation", false));
+        Integer experience = integer(row, "experience", false);
+        candidate.setExperience(experience);
+        candidate.setApproved(Boolean.parseBoolean(text(row, "approved")));
+
+        Set<ConstraintViolation<Candidate>> violations = validator.validate(candidate);
+        if (!violations.isEmpty()) {
+            throw new RowException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return candidate;
+    }
+
+    private int insertCandidates(List<Parsed<Candidate>> batch, Report report) {
+        // One lookup per batch for emails that are already registered
+        Set<String> existing = new HashSet<>(candidateRepository.findExistingEmails(
+                batch.stream().map(p -> p.entity().getEmail()).toList()));
+        List<Parsed<Candidate>> fresh = new ArrayList<>(batch.size());
+        for (Parsed<Candidate> parsed : batch) {
+            if (existing.contains(parsed.entity().getEmail())) {
+                report.error(parsed.row(), "email " + parsed.entity().getEmail() + " is already registered");
+            } else {
+                fresh.add(parsed);
+            }
+        }
+
+        int inserted = persist(fresh, report);
+        if (inserted > 0) {
+            // Same bookkeeping CandidateService.save does, once per batch
+            List<Candidate> saved = fresh.stream().map(Parsed::entity).toList();
+            List<CandidateFilterIndex.Change> changes = new ArrayList<>(saved.size());
+            for (Candidate candidate : saved) {
+                changes.add(filterIndex.update(candidate));
+            }
+            searchCache.invalidateAll(changes);
+            textIndex.addAll(saved);
+            skillSketch.addAll(saved.stream().map(Candidate::getSkills).toList());
+        }
+        return inserted;
+    }
+
+    // ===== Shared =====
+
+    private <T> ImportReport importRows(String type, InputStream in, Format format,
+                                        RowParser<T> parser, BatchWriter<T> writer) throws IOException {
+        long start = System.nanoTime();
+        Report report = new Report();
+        List<Parsed<T>> batch = new ArrayList<>(BATCH_SIZE);
+
+        try (ImportRowReader rows = format == Format.JSON ? ImportRowReader.json(in, objectMapper)
+                : ImportRowReader.csv(in)) {
+            while (rows.hasNext()) {
+                Map<String, Object> row = rows.next();
+                long rowNumber = ++report.rows;
+                try {
+                    batch.add(new Parsed<>(rowNumber, parser.parse(row)));
+                } catch (RowException e) {
+                    report.error(rowNumber, e.getMessage());
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    report.imported += writer.write(batch, report);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                report.imported += writer.write(batch, report);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = elapsedMs == 0 ? report.imported : report.imported * 1000.0 / elapsedMs;
+        log.info("Imported {} of {} {} rows in {} ms ({} rows/s)", report.imported, report.rows, type,
+                elapsedMs, Math.round(rowsPerSecond));
+        return new ImportReport(type, report.rows, report.imported, report.failed, elapsedMs,
+                Math.round(rowsPerSecond * 10) / 10.0, report.errors, report.errorsTruncated);
+    }
+
+    // Inserts the batch in one transaction; if it fails, every row in it is reported
+    private <T> int persist(List<Parsed<T>> batch, Report report) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Parsed<T> parsed : batch) {
+                    entityManager.persist(parsed.entity());
+                }
+            });
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.warn("Import batch of {} rows starting at row {} failed: {}",
+                    batch.size(), batch.get(0).row(), e.getMessage());
+            String message = "batch insert failed: " + e.getMessage();
+            for (Parsed<T> parsed : batch) {
+                report.error(parsed.row(), message);
+            }
+            return 0;
+        }
+    }
+
+    private static String text(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        if (value == null) return null;
+        String text = value instanceof List<?> list
+                ? list.stream().map(String::valueOf).collect(Collectors.joining(", "))
+                : value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static String required(Map<String, Object> row, String column) {
+        String value = text(row, column);
+        if (value == null) {
+            throw new RowException(column + " is required");
+        }
+        return value;
+    }
+
+    private static Integer integer(Map<String, Object> row, String column, boolean required) {
+        String value = required ? required(row, column) : text(row, column);
+        if (value == null) return null;
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new RowException(column + " must be a whole number, got \"" + value + "\"");
+        }
+    }
+
+    private static List<String> options(Object value) {
+        List<String> raw;
+        if (value instanceof List<?> list) {
+            raw = list.stream().map(item -> item == null ? "" : item.toString()).toList();
+        } else if (value != null) {
+            raw = Arrays.asList(value.toString().split("\\|"));
+        } else {
+            raw = List.of();
+        }
+        List<String> options = new ArrayList<>(raw.size());
+        for (String option : raw) {
+            if (!option.isBlank()) options.add(option.trim());
+        }
+        return options;
+    }
+}
@@ -3,6 +3,9 @@ package com.virtuehire.service;
 import com.virtuehire.model.*;
 import com.virtuehire.repository.PaymentRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -14,6 +17,8 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final HrService hrService;
+    private final PlatformStatsService platformStatsService;
+    private final RevenueRollupService revenueRollupService;
 
     // Mock payment gateway simulation
     private final Map<String, Payment> pendingPayments = new ConcurrentHashMap<>();
@@ -35,9 +40,12 @@ public class PaymentService {
     @Value("${plan.price.single.candidate:299.00}")
     private Double singleCandidatePrice;
 
-    public PaymentService(PaymentRepository paymentRepository, HrService hrService) {
+    public PaymentService(PaymentRepository paymentRepository, HrService hrService,
+                          PlatformStatsService platformStatsService, RevenueRollupService revenueRollupService) {
         this.paymentRepository = paymentRepository;
         this.hrService = hrService;
+        this.platformStatsService = platformStatsService;
+        this.revenueRollupService = revenueRollupService;
     }
 
     /**
@@ -142,6 +150,7 @@ public class PaymentService {
 
         payment = paymentRepository.save(payment);
         pendingPayments.remove(paymentGatewayId);
+        revenueRollupService.recordPayment(payment);
 
         return payment;
     }
@@ -180,16 +189,32 @@ public class PaymentService {
      * Get payment statistics (for admin dashboard)
      */
     public Map<String, Object> getPaymentStatistics() {
+        // Read from the materialized platform stats, not recounted
+        Map<String, PlatformStat> platformStats = platformStatsService.getStats();
+
+        long totalPayments = 0;
+        for (PaymentStatus status : PaymentStatus.values()) {
+            totalPayments += PlatformStatsService.count(platformStats, PlatformStat.payments(status));
+        }
+
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalPayments", paymentRepository.count());
-        stats.put("successfulPayments", paymentRepository.countByStatus(PaymentStatus.SUCCESS));
-        stats.put("pendingPayments", paymentRepository.countByStatus(PaymentStatus.PENDING));
-        stats.put("failedPayments", paymentRepository.countByStatus(PaymentStatus.FAILED));
+        stats.put("totalPayments", totalPayments);
+        stats.put("successfulPayments", PlatformStatsService.count(platformStats, PlatformStat.payments(PaymentStatus.SUCCESS)));
+        stats.put("pendingPayments", PlatformStatsService.count(platformStats, PlatformStat.payments(PaymentStatus.PENDING)));
+        stats.put("failedPayments", PlatformStatsService.count(platformStats, PlatformStat.payments(PaymentStatus.FAILED)));
+        stats.put("totalRevenue", PlatformStatsService.amount(platformStats, PlatformStat.payments(PaymentStatus.SUCCESS)));
         return stats;
     }
 
-    public List<Payment> getAllPayments() {
-        return paymentRepository.findAll();
+    // Most recent successful payments, newest first
+    public List<Payment> getRecentSuccessfulPayments(int limit) {
+        return paymentRepository.findByStatusOrderByCompletedAtDesc(PaymentStatus.SUCCESS, PageRequest.of(0, limit));
+    }
+
+    // One page of payments with their HR, optionally of one status
+    public Page<Payment> getPaymentsPage(PaymentStatus status, Pageable pageable) {
+        return status == null ? paymentRepository.findAllWithHr(pageable)
+                : paymentRepository.findByStatus(status, pageable);
     }
 
     public Payment getPaymentById(Long id) {
@@ -0,0 +1,73 @@
+package com.virtuehire.service;
+
+import com.virtuehire.model.PlatformStat;
+import com.virtuehire.model.StatsTracked;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JPA listener on Hr, Candidate and Payment that turns every insert, update and
+ * delete into platform_stats deltas: the stats a row counts toward now minus the
+ * ones it counted toward when it was loaded.
+ */
+@Component
+public class PlatformStatsListener {
+
+    // Looked up lazily; the listener is created while the EntityManagerFactory is still being built
+    private final ObjectProvider<PlatformStatsService> statsService;
+
+    public PlatformStatsListener(ObjectProvider<PlatformStatsService> statsService) {
+        this.statsService = statsService;
+    }
+
+    @PostLoad
+    public void loaded(Object entity) {
+        StatsTracked tracked = (StatsTracked) entity;
+        tracked.rememberStats(tracked.statsContribution());
+    }
+
+    @PostPersist
+    public void persisted(Object entity) {
+        written((StatsTracked) entity, Map.of());
+    }
+
+    @PostUpdate
+    public void updated(Object entity) {
+        StatsTracked tracked = (StatsTracked) entity;
+        if (tracked.rememberedStats() == null) {
+            // Never saw this row's previous state; leave it to reconciliation rather than double count
+            tracked.rememberStats(tracked.statsContribution());
+            return;
+        }
+        written(tracked, tracked.rememberedStats());
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        StatsTracked tracked = (StatsTracked) entity;
+        if (tracked.rememberedStats() != null) {
+            statsService.getObject().record(difference(Map.of(), tracked.rememberedStats()));
+        }
+    }
+
+    private void written(StatsTracked tracked, Map<String, PlatformStat.Delta> before) {
+        Map<String, PlatformStat.Delta> after = tracked.statsContribution();
+        statsService.getObject().record(difference(after, before));
+        tracked.rememberStats(after);
+    }
+
+    private static Map<String, PlatformStat.Delta> difference(Map<String, PlatformStat.Delta> after,
+                                                              Map<String, PlatformStat.Delta> before) {
+        Map<String, PlatformStat.Delta> deltas = new HashMap<>(after);
+        before.forEach((stat, delta) -> deltas.merge(stat, delta.negate(), PlatformStat.Delta::plus));
+        deltas.values().removeIf(PlatformStat.Delta::isZero);
+        return deltas;
+    }
+}
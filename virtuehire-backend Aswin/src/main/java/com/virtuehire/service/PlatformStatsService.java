@@ -0,0 +1,204 @@
+package com.virtuehire.service;
+
+import com.virtuehire.model.PaymentStatus;
+import com.virtuehire.model.PlatformStat;
+import com.virtuehire.repository.CandidateRepository;
+import com.virtuehire.repository.HrRepository;
+import com.virtuehire.repository.PaymentRepository;
+import com.virtuehire.repository.PlatformStatRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Materialized platform totals in platform_stats.
+ *
+ * Deltas recorded by PlatformStatsListener during a transaction are buffered and
+ * applied just before it commits, in the same transaction, each as one atomic
+ * UPDATE ... SET count = count + ?. The entity rows and their counters commit or
+ * roll back together, and the stat row locks serialize them against reconciliation.
+ * A reconciliation job recounts everything periodically and overwrites any drift.
+ */
+@Service
+public class PlatformStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlatformStatsService.class);
+
+    private final PlatformStatRepository statRepository;
+    private final HrRepository hrRepository;
+    private final CandidateRepository candidateRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate newTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PlatformStatsService(PlatformStatRepository statRepository, HrRepository hrRepository,
+                                CandidateRepository candidateRepository, PaymentRepository paymentRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.statRepository = statRepository;
+        this.hrRepository = hrRepository;
+        this.candidateRepository = candidateRepository;
+        this.paymentRepository = paymentRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds deltas to the stats as part of the current transaction, just before it
+     * commits, or right away outside a transaction.
+     */
+    public void record(Map<String, PlatformStat.Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(deltas);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, PlatformStat.Delta> pending = (Map<String, PlatformStat.Delta>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<String, PlatformStat.Delta> buffer = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Entity listeners record while the commit flushes; flush now so they land in the buffer first
+                    entityManager.flush();
+                    addDeltas(buffer);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PlatformStatsService.this);
+                }
+            });
+            pending = buffer;
+        }
+        for (Map.Entry<String, PlatformStat.Delta> entry : deltas.entrySet()) {
+            pending.merge(entry.getKey(), entry.getValue(), PlatformStat.Delta::plus);
+        }
+    }
+
+    // A write made outside a transaction has already happened, so a failure here is only logged; reconciliation repairs it
+    private void apply(Map<String, PlatformStat.Delta> deltas) {
+        try {
+            newTransaction.executeWithoutResult(status -> addDeltas(deltas));
+        } catch (RuntimeException e) {
+            log.warn("Could not apply platform stat deltas {}: {}", deltas, e.getMessage());
+        }
+    }
+
+    // Stat rows are updated in name order, so two writers never wait on each other's locks in a cycle
+    private void addDeltas(Map<String, PlatformStat.Delta> deltas) {
+        new TreeMap<>(deltas).forEach((stat, delta) -> {
+            if (delta.isZero()) return;
+            if (statRepository.addDelta(stat, delta.count(), delta.amount()) == 0) {
+                statRepository.save(new PlatformStat(stat, delta.count(), delta.amount()));
+            }
+        });
+    }
+
+    // ===== Reads =====
+
+    public Map<String, PlatformStat> getStats() {
+        Map<String, PlatformStat> stats = new HashMap<>();
+        for (PlatformStat stat : statRepository.findAll()) {
+            stats.put(stat.getName(), stat);
+        }
+        return stats;
+    }
+
+    public static long count(Map<String, PlatformStat> stats, String name) {
+        PlatformStat stat = stats.get(name);
+        return stat != null ? stat.getCount() : 0;
+    }
+
+    public static double amount(Map<String, PlatformStat> stats, String name) {
+        PlatformStat stat = stats.get(name);
+        return stat != null ? stat.getAmount() : 0;
+    }
+
+    // ===== Reconciliation =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Recounts every stat with aggregate queries and overwrites the stored values.
+     * The stat rows are locked first. A write whose delta already holds a stat row
+     * commits before the lock is granted, and then its rows are in the recount. A
+     * write that reaches its delta later waits for the recount to commit and then
+     * adds to it. A change is therefore never counted twice or left out.
+     */
+    @Scheduled(fixedDelayString = "${platform-stats.reconcile-interval-ms:3600000}",
+            initialDelayString = "${platform-stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        newTransaction.executeWithoutResult(status -> {
+            Map<String, PlatformStat> stored = new HashMap<>();
+            for (PlatformStat stat : statRepository.findAllForUpdate()) {
+                stored.put(stat.getName(), stat);
+            }
+
+            Map<String, PlatformStat.Delta> exact = countExact();
+            exact.forEach((name, value) -> {
+                PlatformStat stat = stored.get(name);
+                if (stat == null) {
+                    statRepository.save(new PlatformStat(name, value.count(), value.amount()));
+                    return;
+                }
+                if (stat.getCount() != value.count() || Math.abs(stat.getAmount() - value.amount()) > 0.005) {
+                    log.info("Platform stat {} drifted: stored {}/{} actual {}/{}", name,
+                            stat.getCount(), stat.getAmount(), value.count(), value.amount());
+                    stat.setCount(value.count());
+                    stat.setAmount(value.amount());
+                }
+            });
+        });
+    }
+
+    private Map<String, PlatformStat.Delta> countExact() {
+        Map<String, PlatformStat.Delta> exact = new LinkedHashMap<>();
+
+        long hrs = hrRepository.count();
+        long verifiedHrs = hrRepository.countByVerified(true);
+        exact.put(PlatformStat.HRS_VERIFIED, new PlatformStat.Delta(verifiedHrs, 0));
+        exact.put(PlatformStat.HRS_UNVERIFIED, new PlatformStat.Delta(hrs - verifiedHrs, 0));
+
+        long candidates = candidateRepository.count();
+        long approved = candidateRepository.countByApproved(true);
+        exact.put(PlatformStat.CANDIDATES_APPROVED, new PlatformStat.Delta(approved, 0));
+        exact.put(PlatformStat.CANDIDATES_PENDING, new PlatformStat.Delta(candidates - approved, 0));
+        exact.put(PlatformStat.CANDIDATES_ASSESSED, new PlatformStat.Delta(candidateRepository.countByAssessmentTakenTrue(), 0));
+
+        for (PaymentStatus status : PaymentStatus.values()) {
+            exact.put(PlatformStat.payments(status), new PlatformStat.Delta(0, 0));
+        }
+        for (Object[] row : paymentRepository.summarizeByStatus()) {
+            // A payment without a status counts as pending, as in Payment.statsContribution()
+            PaymentStatus status = row[0] != null ? (PaymentStatus) row[0] : PaymentStatus.PENDING;
+            exact.merge(PlatformStat.payments(status),
+                    new PlatformStat.Delta((Long) row[1], ((Number) row[2]).doubleValue()), PlatformStat.Delta::plus);
+        }
+        return exact;
+    }
+}
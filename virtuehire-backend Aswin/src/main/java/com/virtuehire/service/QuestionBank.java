@@ -0,0 +1,143 @@
+package com.virtuehire.service;
+
+import com.virtuehire.dto.BankQuestion;
+import com.virtuehire.model.Question;
+import com.virtuehire.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory, immutable snapshot of every question with its options, indexed by
+ * level and by (subject, level), plus each level's compiled answer key, for exam
+ * pages and grading.
+ *
+ * Loaded with one query on first use. Admin changes never modify the published
+ * snapshot: they build a new one with the change applied and swap the reference,
+ * so readers always see one consistent version without taking a lock.
+ */
+@Component
+public class QuestionBank {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionBank.class);
+
+    private final QuestionRepository questionRepository;
+    private volatile Snapshot snapshot;
+
+    /**
+     * One version of the bank. Every list is immutable and ordered by question id.
+     */
+    public record Snapshot(long version, Map<Long, BankQuestion> byId, Map<Integer, List<BankQuestion>> byLevel,
+                           Map<SubjectLevel, List<BankQuestion>> bySubjectLevel, List<String> subjects,
+                           Map<Integer, AnswerKey> answerKeys) {
+
+        static Snapshot of(long version, Collection<BankQuestion> questions) {
+            List<BankQuestion> ordered = new ArrayList<>(questions);
+            ordered.sort(Comparator.comparing(BankQuestion::getId));
+
+            Map<Long, BankQuestion> byId = new LinkedHashMap<>();
+            Map<Integer, List<BankQuestion>> byLevel = new HashMap<>();
+            Map<SubjectLevel, List<BankQuestion>> bySubjectLevel = new HashMap<>();
+            Set<String> subjects = new TreeSet<>();
+            for (BankQuestion question : ordered) {
+                byId.put(question.getId(), question);
+                byLevel.computeIfAbsent(question.getLevel(), l -> new ArrayList<>()).add(question);
+                bySubjectLevel.computeIfAbsent(new SubjectLevel(question.getSubject(), question.getLevel()),
+                        k -> new ArrayList<>()).add(question);
+                if (question.getSubject() != null) subjects.add(question.getSubject());
+            }
+            byLevel.replaceAll((level, list) -> List.copyOf(list));
+            bySubjectLevel.replaceAll((key, list) -> List.copyOf(list));
+            // Answer keys are compiled with the snapshot, so grading never sees a stale key
+            Map<Integer, AnswerKey> answerKeys = new HashMap<>();
+            byLevel.forEach((level, list) -> answerKeys.put(level, AnswerKey.compile(list)));
+            return new Snapshot(version, Collections.unmodifiableMap(byId), Map.copyOf(byLevel),
+                    Map.copyOf(bySubjectLevel), List.copyOf(subjects), Map.copyOf(answerKeys));
+        }
+    }
+
+    public record SubjectLevel(String subject, int level) {}
+
+    public QuestionBank(QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    // ===== Reads (no database access once loaded) =====
+
+    public List<BankQuestion> byLevel(int level) {
+        return snapshot().byLevel().getOrDefault(level, List.of());
+    }
+
+    public List<BankQuestion> bySubjectAndLevel(String subject, int level) {
+        return snapshot().bySubjectLevel().getOrDefault(new SubjectLevel(subject, level), List.of());
+    }
+
+    public AnswerKey answerKey(int level) {
+        return snapshot().answerKeys().getOrDefault(level, AnswerKey.EMPTY);
+    }
+
+    public List<String> subjects() {
+        return snapshot().subjects();
+    }
+
+    public long version() {
+        return snapshot().version();
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load(1);
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // ===== Copy-on-write updates, called after the change has committed =====
+
+    public void put(Question question) {
+        putAll(List.of(question));
+    }
+
+    public synchronized void putAll(Collection<Question> questions) {
+        Snapshot current = snapshot();
+        Map<Long, BankQuestion> next = new HashMap<>(current.byId());
+        for (Question question : questions) {
+            next.put(question.getId(), BankQuestion.of(question));
+        }
+        snapshot = Snapshot.of(current.version() + 1, next.values());
+    }
+
+    public synchronized void remove(Long id) {
+        Snapshot current = snapshot();
+        if (!current.byId().containsKey(id)) {
+            return;
+        }
+        Map<Long, BankQuestion> next = new HashMap<>(current.byId());
+        next.remove(id);
+        snapshot = Snapshot.of(current.version() + 1, next.values());
+    }
+
+    // Reloads everything, e.g. after questions were changed outside the admin pages
+    public synchronized void reload() {
+        snapshot = load(snapshot == null ? 1 : snapshot.version() + 1);
+    }
+
+    private Snapshot load(long version) {
+        long start = System.currentTimeMillis();
+        List<BankQuestion> questions = questionRepository.findAllWithOptions().stream()
+                .map(BankQuestion::of)
+                .toList();
+        Snapshot loaded = Snapshot.of(version, questions);
+        log.info("Question bank v{} loaded: {} questions in {} ms", version, questions.size(),
+                System.currentTimeMillis() - start);
+        return loaded;
+    }
+}
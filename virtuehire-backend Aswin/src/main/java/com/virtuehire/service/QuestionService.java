@@ -1,8 +1,8 @@
 package com.virtuehire.service;
 
+import com.virtuehire.dto.BankQuestion;
 import com.virtuehire.model.Question;
 import com.virtuehire.repository.QuestionRepository;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -11,72 +11,81 @@ import java.util.*;
 public class QuestionService {
 
     private final QuestionRepository questionRepository;
+    private final QuestionBank questionBank;
 
-    @Value("${assessment.pass.percent}")
-    private int passPercentage;
-
-    public QuestionService(QuestionRepository questionRepository) {
+    public QuestionService(QuestionRepository questionRepository, QuestionBank questionBank) {
         this.questionRepository = questionRepository;
+        this.questionBank = questionBank;
     }
 
-    // Your existing methods...
-    public List<Question> getQuestionsByLevel(int level) {
-        return questionRepository.findByLevel(level);
+    // Exam questions come from the in-memory bank, not the database
+    public List<BankQuestion> getQuestionsByLevel(int level) {
+        return questionBank.byLevel(level);
     }
 
-    public Map<String, Object> evaluateWithScore(int level, Map<String, String> answers) {
-        List<Question> questions = getQuestionsByLevel(level);
-        int correctCount = 0;
+    // The given questions from the bank in the given order, e.g. an exam session's served set
+    public List<BankQuestion> getQuestionsByIds(List<Long> ids) {
+        Map<Long, BankQuestion> byId = questionBank.snapshot().byId();
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
 
-        for (Question q : questions) {
-            String userAnswer = answers.get("q" + q.getId());
-            if (userAnswer != null && userAnswer.equalsIgnoreCase(q.getCorrectAnswer())) {
-                correctCount++;
-            }
-        }
+    // Scores a submission against the level's compiled answer key, as a whole percentage.
+    // Pass/fail uses the same mark the stored results are judged by.
+    public Map<String, Object> evaluateWithScore(int level, Map<String, String> answers) {
+        AnswerKey answerKey = questionBank.answerKey(level);
+        return graded(answerKey.countCorrect(answers), answerKey.size());
+    }
 
-        int scorePercentage = 0;
-        if (!questions.isEmpty()) {
-            scorePercentage = (int) ((correctCount * 100.0) / questions.size());
-        }
+    // Scores a submission against exactly the questions its attempt was served, whatever the
+    // level holds now. A served question deleted since then still counts in the total.
+    public Map<String, Object> evaluateWithScore(List<Long> servedQuestionIds, Map<String, String> answers) {
+        AnswerKey answerKey = AnswerKey.compile(getQuestionsByIds(servedQuestionIds));
+        return graded(answerKey.countCorrect(answers), servedQuestionIds.size());
+    }
 
-        boolean passed = scorePercentage >= passPercentage;
+    private static Map<String, Object> graded(int correct, int total) {
+        int scorePercentage = total == 0 ? 0 : (int) ((correct * 100L) / total);
 
         Map<String, Object> result = new HashMap<>();
         result.put("score", scorePercentage);
-        result.put("total", questions.size());
-        result.put("passed", passed);
-
-        return Map.of("score", 80, "total", 100, "passed", true);
+        result.put("correct", correct);
+        result.put("total", total);
+        result.put("passed", scorePercentage >= AssessmentResultService.PASS_MARKS);
+        return result;
     }
 
     // ===== NEW METHODS FOR ADMIN QUESTION MANAGEMENT =====
 
     public List<Question> getAllQuestionsFromRepository() {
-        return questionRepository.findAll();
+        return questionRepository.findAllWithOptions();
     }
 
+    // Writes go to the database first, then swap in a bank snapshot with the change
     public Question saveQuestionViaRepository(Question question) {
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        question.setId(saved.getId());
+        questionBank.put(question);
+        return saved;
     }
 
     public Question getQuestionByIdFromRepository(Long id) {
-        return questionRepository.findById(id).orElse(null);
+        return questionRepository.findWithOptionsById(id).orElse(null);
     }
 
     public void deleteQuestionViaRepository(Long id) {
         questionRepository.deleteById(id);
+        questionBank.remove(id);
     }
 
     public List<Question> getQuestionsBySubject(String subject) {
-        return questionRepository.findBySubject(subject);
+        return questionRepository.findBySubjectOrderByIdAsc(subject);
     }
 
-    public List<Question> getQuestionsBySubjectAndLevel(String subject, int level) {
-        return questionRepository.findBySubjectAndLevel(subject, level);
+    public List<BankQuestion> getQuestionsBySubjectAndLevel(String subject, int level) {
+        return questionBank.bySubjectAndLevel(subject, level);
     }
 
     public List<String> getAllSubjects() {
-        return questionRepository.findDistinctSubject();
+        return questionBank.subjects();
     }
 }
\ No newline at end of file
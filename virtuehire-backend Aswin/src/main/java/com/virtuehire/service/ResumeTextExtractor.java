@@ -0,0 +1,63 @@
+package com.virtuehire.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Reads the plain text out of an uploaded resume for the full-text index.
+ * PDFs go through PDFBox and .txt files are read as UTF-8; other formats and
+ * unreadable files yield an empty string.
+ */
+@Component
+public class ResumeTextExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeTextExtractor.class);
+
+    // Enough for any real resume; keeps a malformed upload from bloating the index
+    private static final int MAX_CHARS = 100_000;
+
+    private final Path uploadDir;
+
+    public ResumeTextExtractor(@Value("${search.fulltext.resume-dir}") String uploadDir) {
+        this.uploadDir = Paths.get(uploadDir);
+    }
+
+    public String extract(String resumePath) {
+        if (resumePath == null || resumePath.isBlank()) {
+            return "";
+        }
+        Path file = uploadDir.resolve(resumePath).normalize();
+        if (!file.startsWith(uploadDir) || !Files.isReadable(file)) {
+            return "";
+        }
+
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        try {
+            String text;
+            if (name.endsWith(".pdf")) {
+                try (PDDocument document = PDDocument.load(file.toFile())) {
+                    text = new PDFTextStripper().getText(document);
+                }
+            } else if (name.endsWith(".txt")) {
+                text = Files.readString(file, StandardCharsets.UTF_8);
+            } else {
+                return "";
+            }
+            return text.length() > MAX_CHARS ? text.substring(0, MAX_CHARS) : text;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not extract text from resume {}: {}", resumePath, e.getMessage());
+            return "";
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.virtuehire.service;
+
+import com.virtuehire.dto.RevenuePoint;
+import com.virtuehire.dto.RevenueReport;
+import com.virtuehire.model.Payment;
+import com.virtuehire.model.PaymentStatus;
+import com.virtuehire.model.RevenueRollup;
+import com.virtuehire.repository.PaymentRepository;
+import com.virtuehire.repository.RevenueRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Revenue rollups by day and by month, plan type and currency. Each successful
+ * payment is upserted into its day and month rows, so reports over any range read
+ * at most a few hundred rollup rows and never the payments table.
+ */
+@Service
+public class RevenueRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollupService.class);
+
+    private final RevenueRollupRepository rollupRepository;
+    private final PaymentRepository paymentRepository;
+
+    public RevenueRollupService(RevenueRollupRepository rollupRepository, PaymentRepository paymentRepository) {
+        this.rollupRepository = rollupRepository;
+        this.paymentRepository = paymentRepository;
+    }
+
+    // Adds a payment that just succeeded to its day and month rows
+    @Transactional
+    public void recordPayment(Payment payment) {
+        if (payment.getStatus() != PaymentStatus.SUCCESS || payment.getCompletedAt() == null) {
+            return;
+        }
+        LocalDate day = payment.getCompletedAt().toLocalDate();
+        String planType = payment.getPlanType() != null ? payment.getPlanType() : RevenueRollup.NO_PLAN;
+        String currency = payment.getCurrency() != null ? payment.getCurrency() : "INR";
+        double amount = payment.getAmount() != null ? payment.getAmount() : 0;
+
+        rollupRepository.addPayment(RevenueRollup.Granularity.DAY.name(), day, planType, currency, amount);
+        rollupRepository.addPayment(RevenueRollup.Granularity.MONTH.name(), day.withDayOfMonth(1), planType, currency, amount);
+    }
+
+    // First start with existing payments: build the rollups once
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0 && paymentRepository.countByStatus(PaymentStatus.SUCCESS) > 0) {
+            backfill();
+        }
+    }
+
+    /**
+     * Rebuilds every rollup row from the payments table with two INSERT ... SELECT
+     * aggregations, in one transaction.
+     */
+    @Transactional
+    public Map<String, Object> backfill() {
+        long start = System.currentTimeMillis();
+        rollupRepository.deleteAllInBatch();
+        int days = rollupRepository.backfillDays();
+        int months = rollupRepository.backfillMonths();
+        log.info("Revenue rollups backfilled: {} day rows, {} month rows in {} ms",
+                days, months, System.currentTimeMillis() - start);
+        return Map.of("dayRows", days, "monthRows", months);
+    }
+
+    /**
+     * Revenue over [from, to]. Month series use the month rows for whole months and
+     * the day rows for the partial months at either end, so totals are exact.
+     */
+    public RevenueReport report(LocalDate from, LocalDate to, RevenueRollup.Granularity granularity,
+                                String planType, String currency) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+
+        TreeMap<LocalDate, RevenuePoint> series = new TreeMap<>();
+        if (granularity == RevenueRollup.Granularity.DAY) {
+            addRows(series, RevenueRollup.Granularity.DAY, from, to, planType, currency, false);
+        } else {
+            LocalDate firstFullMonth = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+            LocalDate endOfLastFullMonth = to.plusDays(1).getDayOfMonth() == 1 ? to : to.withDayOfMonth(1).minusDays(1);
+
+            if (firstFullMonth.isAfter(endOfLastFullMonth)) {
+                addRows(series, RevenueRollup.Granularity.DAY, from, to, planType, currency, true);
+            } else {
+                addRows(series, RevenueRollup.Granularity.MONTH, firstFullMonth, endOfLastFullMonth.withDayOfMonth(1),
+                        planType, currency, false);
+                if (from.isBefore(firstFullMonth)) {
+                    addRows(series, RevenueRollup.Granularity.DAY, from, firstFullMonth.minusDays(1), planType, currency, true);
+                }
+                if (to.isAfter(endOfLastFullMonth)) {
+                    addRows(series, RevenueRollup.Granularity.DAY, endOfLastFullMonth.plusDays(1), to, planType, currency, true);
+                }
+            }
+        }
+
+        double totalRevenue = 0;
+        long paymentCount = 0;
+        for (RevenuePoint point : series.values()) {
+            totalRevenue += point.revenue();
+            paymentCount += point.payments();
+        }
+        return new RevenueReport(from, to, granularity.name(), planType, currency,
+                totalRevenue, paymentCount, new ArrayList<>(series.values()));
+    }
+
+    // Adds rollup rows to the series, folding day rows into their month when asked
+    private void addRows(TreeMap<LocalDate, RevenuePoint> series, RevenueRollup.Granularity granularity,
+                         LocalDate from, LocalDate to, String planType, String currency, boolean foldIntoMonths) {
+        List<Object[]> rows = rollupRepository.sumByPeriod(granularity, from, to, planType, currency);
+        for (Object[] row : rows) {
+            LocalDate period = (LocalDate) row[0];
+            if (foldIntoMonths) {
+                period = period.withDayOfMonth(1);
+            }
+            RevenuePoint point = new RevenuePoint(period, ((Number) row[1]).doubleValue(), ((Number) row[2]).longValue());
+            series.merge(period, point, (a, b) -> new RevenuePoint(a.period(), a.revenue() + b.revenue(), a.payments() + b.payments()));
+        }
+    }
+}
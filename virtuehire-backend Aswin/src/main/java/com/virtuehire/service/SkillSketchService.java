@@ -0,0 +1,144 @@
+package com.virtuehire.service;
+
+import com.virtuehire.model.SkillSketch;
+import com.virtuehire.repository.CandidateRepository;
+import com.virtuehire.repository.SkillSketchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Approximate count of distinct skill terms (normalized, comma separated) across
+ * candidates, kept in a HyperLogLog sketch that is updated on every candidate save
+ * and saved to the database whenever a register changes.
+ */
+@Service
+public class SkillSketchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillSketchService.class);
+
+    private static final int RECOUNT_BATCH_SIZE = 5000;
+
+    private final SkillSketchRepository sketchRepository;
+    private final CandidateRepository candidateRepository;
+
+    private final Object recountLock = new Object();
+    // Held from taking a register snapshot until it is saved, so saves land in snapshot order
+    private final Object saveLock = new Object();
+    private HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+    // Sketch being rebuilt by recountExact(), which must also see skills saved during its scan
+    private HyperLogLog rebuilding;
+
+    public SkillSketchService(SkillSketchRepository sketchRepository, CandidateRepository candidateRepository) {
+        this.sketchRepository = sketchRepository;
+        this.candidateRepository = candidateRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        SkillSketch stored = sketchRepository.findById(SkillSketch.UNIQUE_SKILLS).orElse(null);
+        if (stored == null) {
+            recountExact();
+            return;
+        }
+        synchronized (this) {
+            sketch = HyperLogLog.fromRegisters(stored.getRegisters());
+        }
+    }
+
+    // Adds a saved candidate's skills; only writes the sketch back when it changed
+    public void add(String skills) {
+        addAll(Collections.singletonList(skills));
+    }
+
+    // Same for a batch of candidates, with at most one write
+    public void addAll(Collection<String> skillLists) {
+        boolean updated = false;
+        synchronized (this) {
+            for (String skills : skillLists) {
+                for (String term : CandidateFilterIndex.queryTerms(skills)) {
+                    updated |= sketch.add(term);
+                    if (rebuilding != null) {
+                        rebuilding.add(term);
+                    }
+                }
+            }
+        }
+        if (updated) {
+            save();
+        }
+    }
+
+    // Registers only grow between rebuilds, so the latest snapshot holds every earlier one
+    private void save() {
+        synchronized (saveLock) {
+            byte[] registers;
+            synchronized (this) {
+                registers = sketch.toRegisters();
+            }
+            sketchRepository.save(new SkillSketch(SkillSketch.UNIQUE_SKILLS, registers));
+        }
+    }
+
+    public synchronized long estimateUniqueSkills() {
+        return sketch.estimate();
+    }
+
+    /**
+     * Rebuilds the sketch from the candidate table, which also drops skills no longer
+     * held by anyone, and returns the exact count found on the way.
+     */
+    public Map<String, Object> recountExact() {
+        synchronized (recountLock) {
+            return rebuild();
+        }
+    }
+
+    private Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        HyperLogLog rebuilt = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        Set<String> distinct = new HashSet<>();
+        synchronized (this) {
+            rebuilding = rebuilt;
+        }
+
+        long afterId = 0;
+        List<Object[]> batch;
+        do {
+            batch = candidateRepository.findSkillsAfter(afterId, PageRequest.of(0, RECOUNT_BATCH_SIZE));
+            for (Object[] row : batch) {
+                afterId = (Long) row[0];
+                for (String term : CandidateFilterIndex.queryTerms((String) row[1])) {
+                    if (distinct.add(term)) {
+                        synchronized (this) {
+                            rebuilt.add(term);
+                        }
+                    }
+                }
+            }
+        } while (batch.size() == RECOUNT_BATCH_SIZE);
+
+        synchronized (this) {
+            sketch = rebuilt;
+            rebuilding = null;
+        }
+        save();
+        log.info("Skill sketch rebuilt: {} distinct skills in {} ms", distinct.size(), System.currentTimeMillis() - start);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("exactUniqueSkills", distinct.size());
+        result.put("estimatedUniqueSkills", estimateUniqueSkills());
+        return result;
+    }
+}
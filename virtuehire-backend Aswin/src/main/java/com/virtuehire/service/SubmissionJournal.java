@@ -0,0 +1,105 @@
+package com.virtuehire.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Append-only file of accepted assessment submissions that are not yet in the database.
+ *
+ * A submission is appended and forced to disk before the candidate is told it was
+ * accepted, and marked done once the write-behind batch holding it has committed.
+ * On startup the entries without a done marker are replayed. The file is truncated
+ * whenever nothing is outstanding, so it stays small. Submissions that can never be
+ * written are copied to a ".dead" file next to the journal for manual follow-up.
+ *
+ * Lines: "A|token|candidateId|level|score|submittedAtMillis" and "C|token".
+ */
+class SubmissionJournal implements Closeable {
+
+    private final Path path;
+    private final Path deadLetters;
+    private final FileChannel channel;
+    private int outstanding;
+
+    SubmissionJournal(Path path) throws IOException {
+        this.path = path;
+        this.deadLetters = path.resolveSibling(path.getFileName() + ".dead");
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    // Accepted entries with no done marker, in the order they were accepted
+    synchronized List<SubmissionPipeline.PendingResult> readOutstanding() throws IOException {
+        Map<String, SubmissionPipeline.PendingResult> open = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\\|");
+            if (fields.length == 6 && fields[0].equals("A")) {
+                try {
+                    open.put(fields[1], new SubmissionPipeline.PendingResult(fields[1], Long.parseLong(fields[2]),
+                            Integer.parseInt(fields[3]), Integer.parseInt(fields[4]), Long.parseLong(fields[5])));
+                } catch (NumberFormatException e) {
+                    // A line torn by a crash mid-append; it was never acknowledged
+                }
+            } else if (fields.length == 2 && fields[0].equals("C")) {
+                open.remove(fields[1]);
+            }
+        }
+        outstanding = open.size();
+        return new ArrayList<>(open.values());
+    }
+
+    synchronized void accepted(SubmissionPipeline.PendingResult item) throws IOException {
+        append("A|" + item.token() + "|" + item.candidateId() + "|" + item.level() + "|" + item.score()
+                + "|" + item.submittedAt() + "\n");
+        outstanding++;
+    }
+
+    synchronized void done(Collection<SubmissionPipeline.PendingResult> items) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (SubmissionPipeline.PendingResult item : items) {
+            lines.append("C|").append(item.token()).append('\n');
+        }
+        append(lines.toString());
+        outstanding -= items.size();
+    }
+
+    synchronized void deadLetter(SubmissionPipeline.PendingResult item, String reason) throws IOException {
+        String line = Instant.now() + "|" + item.token() + "|" + item.candidateId() + "|" + item.level()
+                + "|" + item.score() + "|" + item.submittedAt() + "|" + reason.replace('\n', ' ') + "\n";
+        Files.writeString(deadLetters, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        done(List.of(item));
+    }
+
+    // Drops the file contents once every accepted entry is done
+    synchronized void compact() throws IOException {
+        if (outstanding == 0 && channel.size() > 0) {
+            channel.truncate(0);
+            channel.force(true);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void append(String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+}
@@ -0,0 +1,356 @@
+package com.virtuehire.service;
+
+import com.virtuehire.dto.AssessmentProgress;
+import com.virtuehire.model.Candidate;
+import com.virtuehire.repository.CandidateRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Write-behind pipeline for assessment submissions.
+ *
+ * A submission is graded against the in-memory answer key, journaled to disk and
+ * acknowledged with its idempotency token without touching the connection pool.
+ * A single writer thread drains the queue in batches and stores each batch in one
+ * transaction through AssessmentResultService.recordResult. The queue is bounded:
+ * when it is full, submit waits up to the enqueue timeout and then reports busy.
+ * A batch that fails is retried with backoff; the journal replays anything that was
+ * acknowledged but not committed when the application stopped.
+ *
+ * Until its batch commits, a submission is included in progress(), so candidates
+ * can move on to the next level straight away.
+ */
+@Service
+public class SubmissionPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionPipeline.class);
+
+    private static final long INITIAL_RETRY_DELAY_MS = 500;
+    private static final long MAX_RETRY_DELAY_MS = 30_000;
+    private static final int MAX_REMEMBERED_ACKS = 10_000;
+    private static final Pattern TOKEN = Pattern.compile("[A-Za-z0-9-]{8,64}");
+
+    /**
+     * What the candidate is told once a submission is accepted. Posting the same
+     * token again returns the same acknowledgement.
+     */
+    public record Ack(String token, long candidateId, int level, int score, int correct, int total,
+                      boolean passed) {}
+
+    // An accepted submission waiting to be written
+    record PendingResult(String token, long candidateId, int level, int score, long submittedAt) {}
+
+    public static class AlreadySubmittedException extends RuntimeException {
+        public AlreadySubmittedException(int level) {
+            super("Level " + level + " has already been submitted");
+        }
+    }
+
+    // The queue stayed full for the whole enqueue timeout
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("Too many submissions are waiting to be saved");
+        }
+    }
+
+    private final QuestionService questionService;
+    private final AssessmentResultService resultService;
+    private final CandidateService candidateService;
+    private final CandidateRepository candidateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SubmissionJournal journal;
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+
+    private final Semaphore capacity;
+    private final BlockingQueue<PendingResult> queue = new LinkedBlockingQueue<>();
+    // Accepted but not yet committed: candidate id -> level -> submission; the inner maps are immutable
+    private final ConcurrentHashMap<Long, Map<Integer, PendingResult>> pending = new ConcurrentHashMap<>();
+    private final Map<String, Ack> acks = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Ack> eldest) {
+            return size() > MAX_REMEMBERED_ACKS;
+        }
+    });
+
+    private final Thread writer = new Thread(this::runWriter, "submission-writer");
+    private volatile boolean running = true;
+
+    public SubmissionPipeline(QuestionService questionService, AssessmentResultService resultService,
+                              CandidateService candidateService, CandidateRepository candidateRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${assessment.submissions.journal:data/submission-journal.log}") String journalPath,
+                              @Value("${assessment.submissions.queue-capacity:10000}") int queueCapacity,
+                              @Value("${assessment.submissions.batch-size:200}") int batchSize,
+                              @Value("${assessment.submissions.enqueue-timeout-ms:2000}") long enqueueTimeoutMs)
+            throws IOException {
+        this.questionService = questionService;
+        this.resultService = resultService;
+        this.candidateService = candidateService;
+        this.candidateRepository = candidateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new SubmissionJournal(Path.of(journalPath));
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+
+        // Requeue whatever the journal holds from before the last stop, before the writer
+        // can compact it. Replayed entries take capacity; more than fits leaves it negative.
+        List<PendingResult> outstanding = journal.readOutstanding();
+        for (PendingResult item : outstanding) {
+            addPending(item);
+            queue.add(item);
+        }
+        this.capacity = new Semaphore(queueCapacity - outstanding.size());
+        writer.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!queue.isEmpty()) {
+            log.info("Replaying {} journaled assessment submissions", queue.size());
+        }
+        writer.start();
+    }
+
+    // ===== Submitting =====
+
+    /**
+     * Grades the answers and queues the result. Answers are graded against the questions
+     * the attempt was served, or the level's current questions when that is not known
+     * (null). A repeated token for the same level returns the earlier acknowledgement;
+     * any other second submission of a level is rejected with AlreadySubmittedException.
+     */
+    public Ack submit(Candidate candidate, int level, Map<String, String> answers, String token,
+                      List<Long> servedQuestionIds) {
+        long candidateId = candidate.getId();
+        if (token != null) {
+            Ack prior = acks.get(token);
+            if (prior != null && prior.candidateId() == candidateId && prior.level() == level) {
+                return prior;
+            }
+        }
+        if (pendingFor(candidateId).containsKey(level) || resultService.hasAttempted(candidateId, level)) {
+            throw new AlreadySubmittedException(level);
+        }
+
+        Map<String, Object> graded = servedQuestionIds != null
+                ? questionService.evaluateWithScore(servedQuestionIds, answers)
+                : questionService.evaluateWithScore(level, answers);
+        int score = (Integer) graded.get("score");
+        if (token == null || !TOKEN.matcher(token).matches() || acks.containsKey(token)) {
+            token = UUID.randomUUID().toString();
+        }
+        PendingResult item = new PendingResult(token, candidateId, level, score, System.currentTimeMillis());
+        if (!addPending(item)) {
+            throw new AlreadySubmittedException(level);
+        }
+
+        try {
+            if (!capacity.tryAcquire(enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                removePending(item);
+                throw new BusyException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            removePending(item);
+            throw new BusyException();
+        }
+        try {
+            journal.accepted(item);
+        } catch (IOException e) {
+            capacity.release();
+            removePending(item);
+            throw new UncheckedIOException("Could not journal the submission", e);
+        }
+        queue.add(item);
+
+        Ack ack = new Ack(token, candidateId, level, score, (Integer) graded.get("correct"),
+                (Integer) graded.get("total"), (Boolean) graded.get("passed"));
+        acks.put(token, ack);
+        return ack;
+    }
+
+    // ===== Reads that include submissions not yet written =====
+
+    /**
+     * The candidate's stored progress with their queued submissions applied.
+     */
+    public AssessmentProgress progress(Candidate candidate) {
+        AssessmentProgress progress = resultService.getProgress(candidate.getId());
+        for (PendingResult item : pendingFor(candidate.getId()).values()) {
+            progress = progress.with(item.level(), item.score(), attemptedAt(item), AssessmentResultService.PASS_MARKS);
+        }
+        return progress;
+    }
+
+    public int backlog() {
+        return queue.size();
+    }
+
+    // ===== Writer =====
+
+    private void runWriter() {
+        List<PendingResult> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingResult first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    journal.compact();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Never let the writer die; the journal still holds anything unwritten
+                log.error("Submission writer error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeWithRetry(List<PendingResult> batch) throws InterruptedException {
+        long delay = INITIAL_RETRY_DELAY_MS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                finish(batch, write(batch));
+                return;
+            } catch (NonTransientDataAccessException e) {
+                // Something in the data itself; isolate the submission that causes it
+                if (batch.size() > 1) {
+                    log.warn("Batch of {} submissions rejected, writing them one by one: {}",
+                            batch.size(), e.getMessage());
+                    for (PendingResult item : batch) {
+                        writeWithRetry(List.of(item));
+                    }
+                } else {
+                    deadLetter(batch.get(0), e.getMessage());
+                }
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("Leaving {} submissions in the journal for the next start: {}",
+                            batch.size(), e.getMessage());
+                    return;
+                }
+                log.warn("Writing {} submissions failed (attempt {}), retrying in {} ms: {}",
+                        batch.size(), attempt, delay, e.getMessage());
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    // One transaction for the whole batch: an insert-if-absent and aggregate update per submission
+    private List<Candidate> write(List<PendingResult> batch) {
+        return transactionTemplate.execute(status -> {
+            Set<Long> recorded = new LinkedHashSet<>();
+            for (PendingResult item : batch) {
+                // False when the level is already stored, e.g. replayed after a crash right after commit
+                if (resultService.recordResult(item.candidateId(), item.level(), item.score(), attemptedAt(item))) {
+                    recorded.add(item.candidateId());
+                }
+            }
+            // Loaded after the updates, for the index
+            return recorded.isEmpty() ? List.<Candidate>of() : candidateRepository.findAllById(recorded);
+        });
+    }
+
+    private void finish(List<PendingResult> batch, List<Candidate> touched) {
+        try {
+            journal.done(batch);
+        } catch (IOException e) {
+            // They would be replayed and skipped as already stored
+            log.error("Could not mark {} submissions done in the journal", batch.size(), e);
+        }
+        for (PendingResult item : batch) {
+            removePending(item);
+        }
+        capacity.release(batch.size());
+        candidateService.reindex(touched);
+    }
+
+    private void deadLetter(PendingResult item, String reason) {
+        log.error("Dropping submission {} (candidate {}, level {}): {}", item.token(), item.candidateId(),
+                item.level(), reason);
+        try {
+            journal.deadLetter(item, reason == null ? "unknown" : reason);
+        } catch (IOException e) {
+            log.error("Could not record dead submission {}", item.token(), e);
+        }
+        removePending(item);
+        capacity.release();
+    }
+
+    // Lets the writer drain what is queued; anything left stays in the journal
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            writer.join(10_000);
+            writer.interrupt();
+        }
+        journal.close();
+    }
+
+    // ===== Pending index =====
+
+    private boolean addPending(PendingResult item) {
+        boolean[] added = new boolean[1];
+        pending.compute(item.candidateId(), (id, levels) -> {
+            if (levels != null && levels.containsKey(item.level())) {
+                return levels;
+            }
+            Map<Integer, PendingResult> next = levels == null ? new HashMap<>() : new HashMap<>(levels);
+            next.put(item.level(), item);
+            added[0] = true;
+            return Map.copyOf(next);
+        });
+        return added[0];
+    }
+
+    private void removePending(PendingResult item) {
+        pending.computeIfPresent(item.candidateId(), (id, levels) -> {
+            if (!item.equals(levels.get(item.level()))) {
+                return levels;
+            }
+            Map<Integer, PendingResult> next = new HashMap<>(levels);
+            next.remove(item.level());
+            return next.isEmpty() ? null : Map.copyOf(next);
+        });
+    }
+
+    private Map<Integer, PendingResult> pendingFor(long candidateId) {
+        return pending.getOrDefault(candidateId, Map.of());
+    }
+
+    private static LocalDateTime attemptedAt(PendingResult item) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(item.submittedAt()), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,89 @@
+package com.virtuehire.benchmark;
+
+import com.virtuehire.dto.BankQuestion;
+import com.virtuehire.service.AnswerKey;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading one submission: the compiled AnswerKey against the previous per-question
+ * loop ("q" + id lookup and equalsIgnoreCase on the entity's answer).
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.virtuehire.benchmark.AnswerKeyBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnswerKeyBenchmark {
+
+    @Param({"100", "500", "1000"})
+    private int questions;
+
+    private List<BankQuestion> bank;
+    private AnswerKey answerKey;
+    private Map<String, String> submission;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        bank = new ArrayList<>(questions);
+        // Request parameters arrive as a LinkedHashMap of field name to chosen option
+        submission = new LinkedHashMap<>();
+        for (int i = 0; i < questions; i++) {
+            long id = 1000L + i * 3L;
+            List<String> options = List.of("Option A " + i, "Option B " + i, "Option C " + i, "Option D " + i);
+            String correct = options.get(random.nextInt(options.size()));
+            bank.add(new BankQuestion(id, "Java", 1, "Question " + i, options, correct));
+
+            // About 70% right, some unanswered
+            int roll = random.nextInt(10);
+            if (roll < 7) {
+                submission.put("q" + id, correct);
+            } else if (roll < 9) {
+                submission.put("q" + id, options.get((options.indexOf(correct) + 1) % options.size()));
+            }
+        }
+        answerKey = AnswerKey.compile(bank);
+    }
+
+    @Benchmark
+    public int compiledAnswerKey() {
+        return answerKey.percent(answerKey.countCorrect(submission));
+    }
+
+    @Benchmark
+    public int perQuestionLookup() {
+        int correct = 0;
+        for (BankQuestion question : bank) {
+            String answer = submission.get("q" + question.getId());
+            if (answer != null && answer.equalsIgnoreCase(question.getCorrectAnswer())) {
+                correct++;
+            }
+        }
+        return (int) ((correct * 100.0) / bank.size());
+    }
+
+    @Benchmark
+    public AnswerKey compile() {
+        return AnswerKey.compile(bank);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AnswerKeyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
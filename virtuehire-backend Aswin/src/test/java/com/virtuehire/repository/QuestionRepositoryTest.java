@@ -0,0 +1,83 @@
+package com.virtuehire.repository;
+
+import com.virtuehire.model.Question;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loading a level's questions and rendering their options must cost the same number
+ * of statements however many questions the level has.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class QuestionRepositoryTest {
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        saveQuestions("Java", 1, 1);
+        saveQuestions("Java", 2, 25);
+    }
+
+    @Test
+    void findByLevelIssuesTheSameStatementsForOneOrManyQuestions() {
+        long one = statementsToRender(() -> questionRepository.findByLevel(1), 1);
+        long many = statementsToRender(() -> questionRepository.findByLevel(2), 25);
+
+        assertThat(many).isEqualTo(one);
+    }
+
+    @Test
+    void findBySubjectAndLevelIssuesTheSameStatementsForOneOrManyQuestions() {
+        long one = statementsToRender(() -> questionRepository.findBySubjectAndLevel("Java", 1), 1);
+        long many = statementsToRender(() -> questionRepository.findBySubjectAndLevel("Java", 2), 25);
+
+        assertThat(many).isEqualTo(one);
+    }
+
+    // Statements prepared to load the questions from a cleared context and touch every option
+    private long statementsToRender(Supplier<List<Question>> query, int expectedQuestions) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<Question> questions = query.get();
+        for (Question question : questions) {
+            assertThat(question.getOptions()).hasSize(4);
+        }
+
+        assertThat(questions).hasSize(expectedQuestions);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void saveQuestions(String subject, int level, int count) {
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(new Question(subject, level, "Question " + level + "." + i,
+                    List.of("A", "B", "C", "D"), "A"));
+        }
+        entityManager.flush();
+    }
+}